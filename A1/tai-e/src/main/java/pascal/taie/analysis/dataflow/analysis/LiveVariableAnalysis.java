@@ -23,6 +23,7 @@
 package pascal.taie.analysis.dataflow.analysis;
 
 import pascal.taie.analysis.dataflow.fact.SetFact;
+import pascal.taie.analysis.dataflow.fact.VarBitSetFact;
 import pascal.taie.analysis.graph.cfg.CFG;
 import pascal.taie.config.AnalysisConfig;
 import pascal.taie.ir.exp.LValue;
@@ -38,8 +39,14 @@ public class LiveVariableAnalysis extends
 
     public static final String ID = "livevar";
 
+    /**
+     * Whether represent the facts by {@link VarBitSetFact}.
+     */
+    private final boolean bitVector;
+
     public LiveVariableAnalysis(AnalysisConfig config) {
         super(config);
+        bitVector = getOptions().getBooleanOrDefault("bit-vector", false);
     }
 
     @Override
@@ -51,14 +58,14 @@ public class LiveVariableAnalysis extends
     public SetFact<Var> newBoundaryFact(CFG<Stmt> cfg) {
         /* TODO - finish me */
         //返回边界节点的向量，backward 的边界节点是 IN[exit] = 空
-        return new SetFact<>();
+        return bitVector ? new VarBitSetFact() : new SetFact<>();
     }
 
     @Override
     public SetFact<Var> newInitialFact() {
         /* TODO - finish me */
         // 返回初始化节点的向量，backward 的IN[B]=空
-        return new SetFact<>();
+        return bitVector ? new VarBitSetFact() : new SetFact<>();
     }
 
     @Override
@@ -71,6 +78,10 @@ public class LiveVariableAnalysis extends
     @Override
     public boolean transferNode(Stmt stmt, SetFact<Var> in, SetFact<Var> out) {
         /* TODO - finish me */
+        if (in instanceof VarBitSetFact bitIn && out instanceof VarBitSetFact bitOut) {
+            Var def = stmt.getDef().orElse(null) instanceof Var var ? var : null;
+            return bitIn.setToTransfer(bitOut, def, stmt.getUses());
+        }
         //这里设置中间值Tmp,以便之后进行对比查看IN是否发生变化
         SetFact<Var> NewInTmp = new SetFact<>();
         //对Tmp进行赋值
@@ -33,6 +33,13 @@ import java.util.stream.Stream;
 
 /**
  * Represents set-like data-flow facts.
+ * <p>
+ * The elements are kept in a set by default. Subclasses may keep them in
+ * other representations, in which case they are constructed by
+ * {@link #SetFact(boolean)} without the set, and override all methods that
+ * access the elements. The operations on other facts only access them via
+ * {@link #contains} and {@link #stream}, so facts of different
+ * representations can be combined and compared.
  *
  * @param <E> type of elements
  */
@@ -49,6 +56,14 @@ public class SetFact<E> {
         this(Collections.emptySet());
     }
 
+    /**
+     * @param backed whether the elements are kept in the set of this class.
+     *               If false, the subclass keeps the elements by itself.
+     */
+    protected SetFact(boolean backed) {
+        set = backed ? Sets.newHybridSet() : Collections.emptySet();
+    }
+
     /**
      * @return true if this set contains the specified element, otherwise false.
      */
@@ -90,7 +105,14 @@ public class SetFact<E> {
      * @return true if this fact changed as a result of the call, otherwise false.
      */
     public boolean union(SetFact<E> other) {
-        return set.addAll(other.set);
+        if (other.getClass() == SetFact.class) {
+            return set.addAll(other.set);
+        }
+        boolean changed = false;
+        for (E e : (Iterable<E>) other.stream()::iterator) {
+            changed |= add(e);
+        }
+        return changed;
     }
 
     /**
@@ -108,7 +130,10 @@ public class SetFact<E> {
      * @return true if this fact changed as a result of the call, otherwise false.
      */
     public boolean intersect(SetFact<E> other) {
-        return set.retainAll(other.set);
+        if (other.getClass() == SetFact.class) {
+            return set.retainAll(other.set);
+        }
+        return removeIf(e -> !other.contains(e));
     }
 
     /**
@@ -162,7 +187,13 @@ public class SetFact<E> {
         if (!(o instanceof SetFact<?> that)) {
             return false;
         }
-        return set.equals(that.set);
+        if (getClass() == SetFact.class && that.getClass() == SetFact.class) {
+            return set.equals(that.set);
+        }
+        // compares the elements of facts in different representations
+        @SuppressWarnings("unchecked")
+        SetFact<E> other = (SetFact<E>) that;
+        return size() == other.size() && other.stream().allMatch(this::contains);
     }
 
     @Override
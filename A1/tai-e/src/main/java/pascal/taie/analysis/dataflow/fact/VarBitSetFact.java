@@ -0,0 +1,291 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package pascal.taie.analysis.dataflow.fact;
+
+import pascal.taie.ir.exp.RValue;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.util.collection.CollectionUtils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Set of variables of a method, represented by a dense bit vector
+ * indexed by {@link Var#getIndex()}.
+ * <p>
+ * The set operations work on whole words, and except for growing the
+ * vector, they do not allocate. All variables in a fact must belong
+ * to the same method. The elements are not kept in the set of
+ * {@link SetFact}, and the operations with other kinds of facts
+ * access their elements via {@link SetFact#contains} and
+ * {@link SetFact#stream}.
+ */
+public class VarBitSetFact extends SetFact<Var> {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] words = EMPTY;
+
+    /**
+     * Variables of the method, which map the indexes back to variables.
+     * It is bound when the first variable is added to this fact.
+     */
+    private List<Var> vars;
+
+    public VarBitSetFact() {
+        super(false);
+    }
+
+    private VarBitSetFact(long[] words, List<Var> vars) {
+        super(false);
+        this.words = words;
+        this.vars = vars;
+    }
+
+    private static int wordIndex(Var var) {
+        return var.getIndex() >>> 6;
+    }
+
+    private static long bit(Var var) {
+        return 1L << var.getIndex();
+    }
+
+    private void bind(Var var) {
+        if (vars == null) {
+            vars = var.getMethod().getIR().getVars();
+        }
+    }
+
+    private void ensureCapacity(int nWords) {
+        if (words.length < nWords) {
+            words = Arrays.copyOf(words, Math.max(nWords, words.length * 2));
+        }
+    }
+
+    @Override
+    public boolean contains(Var var) {
+        int i = wordIndex(var);
+        return i < words.length && (words[i] & bit(var)) != 0;
+    }
+
+    @Override
+    public boolean add(Var var) {
+        bind(var);
+        int i = wordIndex(var);
+        ensureCapacity(i + 1);
+        long old = words[i];
+        words[i] |= bit(var);
+        return words[i] != old;
+    }
+
+    @Override
+    public boolean remove(Var var) {
+        int i = wordIndex(var);
+        if (i >= words.length) {
+            return false;
+        }
+        long old = words[i];
+        words[i] &= ~bit(var);
+        return words[i] != old;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<Var> filter) {
+        boolean changed = false;
+        for (int i = 0; i < words.length; ++i) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (filter.test(vars.get((i << 6) + bit))) {
+                    words[i] &= ~(1L << bit);
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean union(SetFact<Var> other) {
+        if (!(other instanceof VarBitSetFact that)) {
+            return other.stream().map(this::add).reduce(false, Boolean::logicalOr);
+        }
+        if (vars == null) {
+            vars = that.vars;
+        }
+        ensureCapacity(that.words.length);
+        boolean changed = false;
+        for (int i = 0; i < that.words.length; ++i) {
+            long word = words[i] | that.words[i];
+            if (word != words[i]) {
+                words[i] = word;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean intersect(SetFact<Var> other) {
+        if (!(other instanceof VarBitSetFact that)) {
+            return removeIf(var -> !other.contains(var));
+        }
+        boolean changed = false;
+        for (int i = 0; i < words.length; ++i) {
+            long word = i < that.words.length ? words[i] & that.words[i] : 0;
+            if (word != words[i]) {
+                words[i] = word;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void set(SetFact<Var> other) {
+        if (!(other instanceof VarBitSetFact that)) {
+            clear();
+            union(other);
+            return;
+        }
+        if (that.vars != null) {
+            vars = that.vars;
+        }
+        ensureCapacity(that.words.length);
+        System.arraycopy(that.words, 0, words, 0, that.words.length);
+        Arrays.fill(words, that.words.length, words.length, 0);
+    }
+
+    /**
+     * Sets this fact to (base - {kill}) ∪ gen, i.e., the transfer function
+     * of a statement which defines kill and uses gen, in a single pass over
+     * the words of base. The elements of gen which are not variables
+     * are ignored.
+     *
+     * @param kill the variable to be killed, or null if nothing is killed
+     * @return true if this fact changed as a result of the call, otherwise false.
+     */
+    public boolean setToTransfer(VarBitSetFact base, Var kill,
+                                 List<? extends RValue> gen) {
+        if (vars == null) {
+            vars = base.vars;
+        }
+        int nWords = base.words.length;
+        for (int j = 0; j < gen.size(); ++j) {
+            if (gen.get(j) instanceof Var var) {
+                bind(var);
+                nWords = Math.max(nWords, wordIndex(var) + 1);
+            }
+        }
+        ensureCapacity(nWords);
+        int killWord = kill != null ? wordIndex(kill) : -1;
+        boolean changed = false;
+        for (int i = 0; i < words.length; ++i) {
+            long word = i < base.words.length ? base.words[i] : 0;
+            if (i == killWord) {
+                word &= ~bit(kill);
+            }
+            for (int j = 0; j < gen.size(); ++j) {
+                if (gen.get(j) instanceof Var var && wordIndex(var) == i) {
+                    word |= bit(var);
+                }
+            }
+            if (word != words[i]) {
+                words[i] = word;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public VarBitSetFact copy() {
+        return new VarBitSetFact(words.clone(), vars);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Stream<Var> stream() {
+        if (vars == null) {
+            return Stream.empty();
+        }
+        return BitSet.valueOf(words).stream().mapToObj(vars::get);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VarBitSetFact that)) {
+            return super.equals(o);
+        }
+        long[] shorter = words.length <= that.words.length ? words : that.words;
+        long[] longer = shorter == words ? that.words : words;
+        for (int i = 0; i < longer.length; ++i) {
+            if ((i < shorter.length ? shorter[i] : 0) != longer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // consistent with the hash code of Set
+        return stream().mapToInt(Var::hashCode).sum();
+    }
+
+    @Override
+    public String toString() {
+        return CollectionUtils.toString(stream().toList());
+    }
+}
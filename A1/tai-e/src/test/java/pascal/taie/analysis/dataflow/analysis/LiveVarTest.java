@@ -28,8 +28,12 @@ import pascal.taie.analysis.Tests;
 public class LiveVarTest {
 
     void testLV(String inputClass) {
+        testLV(inputClass, "strongly:false");
+    }
+
+    void testLV(String inputClass, String opts) {
         Tests.test(inputClass, "src/test/resources/dataflow/livevar",
-                LiveVariableAnalysis.ID, "strongly:false");
+                LiveVariableAnalysis.ID, opts);
     }
 
     @Test
@@ -57,6 +61,11 @@ public class LiveVarTest {
         testLV("Fibonacci");
     }
 
+    @Test
+    public void FibonacciBitVector() {
+        testLV("Fibonacci", "strongly:false;bit-vector:true");
+    }
+
     @Test
     public void Reference() {
         testLV("Reference");
@@ -23,6 +23,7 @@
 package pascal.taie.analysis.dataflow.analysis;
 
 import pascal.taie.analysis.dataflow.fact.SetFact;
+import pascal.taie.analysis.dataflow.fact.VarBitSetFact;
 import pascal.taie.analysis.graph.cfg.CFG;
 import pascal.taie.config.AnalysisConfig;
 import pascal.taie.ir.exp.LValue;
@@ -38,8 +39,14 @@ public class LiveVariableAnalysis extends
 
     public static final String ID = "livevar";
 
+    /**
+     * Whether represent the facts by {@link VarBitSetFact}.
+     */
+    private final boolean bitVector;
+
     public LiveVariableAnalysis(AnalysisConfig config) {
         super(config);
+        bitVector = getOptions().getBooleanOrDefault("bit-vector", false);
     }
 
     @Override
@@ -50,13 +57,13 @@ public class LiveVariableAnalysis extends
     @Override
     public SetFact<Var> newBoundaryFact(CFG<Stmt> cfg) {
         /* TODO - finish me */
-        return new SetFact<>();
+        return bitVector ? new VarBitSetFact() : new SetFact<>();
     }
 
     @Override
     public SetFact<Var> newInitialFact() {
         /* TODO - finish me */
-        return new SetFact<>();
+        return bitVector ? new VarBitSetFact() : new SetFact<>();
     }
 
     @Override
@@ -68,6 +75,10 @@ public class LiveVariableAnalysis extends
     @Override
     public boolean transferNode(Stmt stmt, SetFact<Var> in, SetFact<Var> out) {
         /* TODO - finish me */
+        if (in instanceof VarBitSetFact bitIn && out instanceof VarBitSetFact bitOut) {
+            Var def = stmt.getDef().orElse(null) instanceof Var var ? var : null;
+            return bitIn.setToTransfer(bitOut, def, stmt.getUses());
+        }
         SetFact<Var> NewTemp = new SetFact<>();
         NewTemp.union(out);
         if(stmt.getDef().isPresent()){
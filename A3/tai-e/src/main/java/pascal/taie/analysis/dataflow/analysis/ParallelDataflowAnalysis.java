@@ -0,0 +1,99 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.dataflow.analysis;
+
+import pascal.taie.World;
+import pascal.taie.analysis.MethodAnalysis;
+import pascal.taie.analysis.ProgramAnalysis;
+import pascal.taie.analysis.dataflow.analysis.constprop.ConstantPropagation;
+import pascal.taie.config.AnalysisConfig;
+import pascal.taie.config.AnalysisOptions;
+import pascal.taie.config.ConfigException;
+import pascal.taie.ir.IR;
+import pascal.taie.language.classes.ClassHierarchy;
+import pascal.taie.language.classes.JClass;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs the intra-procedural pipeline of {@code constprop}, {@code livevar}
+ * and {@code deadcode} by {@link ParallelDataflowDriver}, e.g.,
+ * {@code -a parallel-dataflow=threads:8;edge-refine:false}.
+ * <p>
+ * The results are stored on the IRs under the IDs of the three analyses,
+ * so they can be processed by {@code process-result} in the same way as
+ * the results of the sequential pipeline.
+ */
+public class ParallelDataflowAnalysis extends ProgramAnalysis {
+
+    public static final String ID = "parallel-dataflow";
+
+    public ParallelDataflowAnalysis(AnalysisConfig config) {
+        super(config);
+    }
+
+    /**
+     * @return the analyzed methods.
+     */
+    @Override
+    public List<JMethod> analyze() {
+        AnalysisOptions options = getOptions();
+        int threads = options.getInt("threads");
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        List<MethodAnalysis> analyses = List.of(
+                new ConstantPropagation(new AnalysisConfig(ConstantPropagation.ID,
+                        "edge-refine", options.getBoolean("edge-refine"))),
+                new LiveVariableAnalysis(new AnalysisConfig(LiveVariableAnalysis.ID,
+                        "strongly", options.getBoolean("strongly"),
+                        "bit-vector", options.getBoolean("bit-vector"))),
+                new DeadCodeDetection(new AnalysisConfig(DeadCodeDetection.ID)));
+        List<JMethod> methods = getMethodScope();
+        List<IR> irs = methods.stream()
+                .map(JMethod::getIR)
+                .toList();
+        new ParallelDataflowDriver(threads, analyses).analyze(irs);
+        return methods;
+    }
+
+    /**
+     * @return the methods in the analysis scope of the world, which are
+     * the methods whose control-flow graphs are built by {@code cfg}.
+     */
+    private static List<JMethod> getMethodScope() {
+        ClassHierarchy hierarchy = World.get().getClassHierarchy();
+        String scope = World.get().getOptions().getScope();
+        Stream<JClass> classes = switch (scope) {
+            case "app" -> hierarchy.applicationClasses();
+            case "all" -> hierarchy.allClasses();
+            default -> throw new ConfigException(
+                    "Unsupported scope of " + ID + ": " + scope);
+        };
+        return classes.flatMap(c -> c.getDeclaredMethods().stream())
+                .filter(m -> !m.isAbstract() && !m.isNative())
+                .toList();
+    }
+}
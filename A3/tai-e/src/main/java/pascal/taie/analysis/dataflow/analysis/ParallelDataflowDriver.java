@@ -0,0 +1,128 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package pascal.taie.analysis.dataflow.analysis;
+
+import pascal.taie.analysis.MethodAnalysis;
+import pascal.taie.ir.IR;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a pipeline of intra-procedural analyses, e.g., {@code constprop},
+ * {@code livevar} and {@code deadcode}, on a list of methods, with one
+ * fork/join task per method.
+ * <p>
+ * Each task runs all analyses of the pipeline on its method in the given
+ * order and stores every result on the method's {@link IR} under the ID of
+ * the analysis, so that later analyses of the pipeline (e.g., dead code
+ * detection) can obtain the results of the earlier ones. Different from
+ * running the analyses one by one, the methods do not wait for each other
+ * between two analyses.
+ * <p>
+ * The analyses must not keep per-method state in their fields, which
+ * holds for the data-flow analyses of this package as the solver creates
+ * all data-flow facts for each call to {@link MethodAnalysis#analyze(IR)}.
+ * As each IR is written by a single task, and {@link #analyze(List)}
+ * returns only after all tasks are joined, the stored results are safely
+ * published to the caller, and they are the same as the results of
+ * sequential analysis regardless of the scheduling.
+ * <p>
+ * The driver is run from the command line by {@link ParallelDataflowAnalysis}.
+ */
+public class ParallelDataflowDriver {
+
+    private final int parallelism;
+
+    private final List<MethodAnalysis> analyses;
+
+    /**
+     * @param parallelism number of worker threads
+     * @param analyses    the analyses to run on each method,
+     *                    in the order of their dependencies
+     */
+    public ParallelDataflowDriver(int parallelism, List<MethodAnalysis> analyses) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "parallelism must be positive, given: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.analyses = List.copyOf(analyses);
+    }
+
+    /**
+     * Runs the analyses on the given IRs. The control-flow graphs of
+     * the IRs must have been built.
+     */
+    public void analyze(List<IR> irs) {
+        if (irs.isEmpty()) {
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new AnalysisTask(irs, 0, irs.size()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void analyze(IR ir) {
+        for (MethodAnalysis analysis : analyses) {
+            ir.storeResult(analysis.getId(), analysis.analyze(ir));
+        }
+    }
+
+    /**
+     * Analyzes IRs in [from, to) by splitting the range in halves
+     * until each task has a single method.
+     */
+    private class AnalysisTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<IR> irs;
+
+        private final int from;
+
+        private final int to;
+
+        private AnalysisTask(List<IR> irs, int from, int to) {
+            this.irs = irs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                analyze(irs.get(from));
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new AnalysisTask(irs, from, mid),
+                        new AnalysisTask(irs, mid, to));
+            }
+        }
+    }
+}
@@ -22,15 +22,25 @@
 
 package pascal.taie.analysis.dataflow.analysis;
 
+import org.junit.Assert;
 import org.junit.Test;
+import pascal.taie.Main;
+import pascal.taie.World;
+import pascal.taie.analysis.ResultProcessor;
 import pascal.taie.analysis.Tests;
 
+import java.util.Set;
+
 public class DeadCodeTest {
 
     void testDCD(String inputClass) {
+        testDCD(inputClass, "strongly:false");
+    }
+
+    void testDCD(String inputClass, String livevarOpts) {
         Tests.test(inputClass, "src/test/resources/dataflow/deadcode/",
                 DeadCodeDetection.ID,
-                "-a", "livevar=strongly:false",
+                "-a", "livevar=" + livevarOpts,
                 "-a", "constprop=edge-refine:false");
     }
 
@@ -54,8 +64,27 @@ public class DeadCodeTest {
         testDCD("DeadAssignment");
     }
 
+    @Test
+    public void testDeadAssignmentBitVector() {
+        testDCD("DeadAssignment", "strongly:false;bit-vector:true");
+    }
+
     @Test
     public void testLoops() {
         testDCD("Loops");
     }
+
+    @Test
+    public void testLoopsParallel() {
+        // runs the pipeline by parallel-dataflow instead of the three
+        // analyses, and compares its dead code with the expected results
+        String dir = "src/test/resources/dataflow/deadcode/";
+        Main.main(new String[]{"-pp", "-cp", dir, "-m", "Loops",
+                "-a", ParallelDataflowAnalysis.ID +
+                "=threads:4;edge-refine:false;strongly:false",
+                "-a", ResultProcessor.ID + "=analyses:[" + DeadCodeDetection.ID +
+                "];action:compare;file:" + dir + "Loops-deadcode-expected.txt"});
+        Set<String> mismatches = World.get().getResult(ResultProcessor.ID);
+        Assert.assertTrue(String.join("\n", mismatches), mismatches.isEmpty());
+    }
 }
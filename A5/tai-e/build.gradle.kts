@@ -31,6 +31,40 @@ java {
     }
 }
 
+// JMH benchmarks of the solvers in src/jmh/java, run by "gradlew jmh".
+// Arguments of JMH can be given by -PjmhArgs, e.g., -PjmhArgs="SolverBenchmark -p cs=ci".
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val jmhImplementation by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+
+dependencies {
+    jmhImplementation("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.named<JavaCompile>("compileJmhJava") { options.encoding = "UTF-8" }
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs JMH benchmarks of the solvers."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    // benchmarks read programs relative to the project directory, as tests do
+    workingDir = projectDir
+    val results = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    doFirst { results.parentFile.mkdirs() }
+    // benchmarks report throughput (ops/s), and GC profiler reports allocation rate
+    args("-prof", "gc", "-rf", "json", "-rff", results.path)
+    (findProperty("jmhArgs") as String?)?.let { args(it.split(" ")) }
+}
+
 val libDir = project.projectDir.parentFile.parentFile.resolve("lib")
 libDir.listFiles()
     ?.map { it.name }
@@ -0,0 +1,99 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.ci;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pascal.taie.Main;
+import pascal.taie.analysis.SyntheticPrograms;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.analysis.pta.core.heap.AllocationSiteBasedModel;
+import pascal.taie.config.AnalysisOptions;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Solver} on test programs and synthetic programs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class SolverBenchmark {
+
+    /**
+     * Program to be analyzed, either "dir/main" for a test program
+     * in src/test/resources/pta, or "synthetic/scale" for a synthetic
+     * program of the scale.
+     */
+    @Param({"cipta/Example", "cipta/InstanceField", "cipta/MergeParam",
+            "synthetic/100", "synthetic/1000"})
+    public String program;
+
+    @Param({"false", "true"})
+    public boolean coalesceWorkList;
+
+    private AnalysisOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] splits = program.split("/");
+        String classPath, main;
+        if (splits[0].equals("synthetic")) {
+            classPath = SyntheticPrograms.generatePTAProgram(
+                    Integer.parseInt(splits[1]));
+            main = SyntheticPrograms.MAIN;
+        } else {
+            classPath = "src/test/resources/pta/" + splits[0];
+            main = splits[1];
+        }
+        Main.buildWorld("-pp", "-cp", classPath, "-m", main);
+        options = new AnalysisOptions(Map.of(
+                "merge-string-constants", false,
+                "merge-string-objects", false,
+                "merge-string-builders", false,
+                "merge-exception-objects", true));
+    }
+
+    @Benchmark
+    public PointerAnalysisResult solve() {
+        Solver solver = new Solver(new AllocationSiteBasedModel(options),
+                coalesceWorkList, false);
+        solver.solve();
+        return solver.getResult();
+    }
+}
@@ -42,7 +42,9 @@ public class CIPTA extends ProgramAnalysis {
     @Override
     public PointerAnalysisResult analyze() {
         HeapModel heapModel = new AllocationSiteBasedModel(getOptions());
-        Solver solver = new Solver(heapModel);
+        Solver solver = new Solver(heapModel,
+                getOptions().getBooleanOrDefault("coalesce-work-list", false),
+                getOptions().getBooleanOrDefault("collapse-cycles", false));
         solver.solve();
         CIPTAResult result = solver.getResult();
         new ResultProcessor(getOptions()).process(result);
@@ -0,0 +1,49 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.ci;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Work list that keeps every entry added and polls them in FIFO order.
+ */
+class FifoWorkList implements WorkList {
+
+    private final Queue<Entry> entries = new ArrayDeque<>();
+
+    @Override
+    public void addEntry(Pointer pointer, PointsToSet pointsToSet) {
+        entries.add(new Entry(pointer, pointsToSet));
+    }
+
+    @Override
+    public Entry pollEntry() {
+        return entries.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
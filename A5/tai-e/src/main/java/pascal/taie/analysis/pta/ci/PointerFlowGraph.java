@@ -30,12 +30,23 @@ import pascal.taie.util.collection.MultiMap;
 import pascal.taie.util.collection.Sets;
 import pascal.taie.util.collection.TwoKeyMap;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Represents pointer flow graph in pointer analysis.
+ * <p>
+ * The pointers in a strongly connected component of this PFG always
+ * have the same points-to set, so they can be merged into one node
+ * (see {@link #mergeNodes(List)}), which is represented by one of them.
+ * Once some nodes are merged, clients should work on representatives
+ * (see {@link #getRepresentative(Pointer)}).
  */
 class PointerFlowGraph {
 
@@ -69,6 +80,17 @@ class PointerFlowGraph {
      */
     private final MultiMap<Pointer, Pointer> successors = Maps.newMultiMap();
 
+    /**
+     * Map from a merged pointer to the pointer it has been merged into.
+     */
+    private final Map<Pointer, Pointer> parents = Maps.newMap();
+
+    /**
+     * Map from a representative to the pointers merged into it
+     * (including itself). Representatives without merged pointers are absent.
+     */
+    private final MultiMap<Pointer, Pointer> members = Maps.newMultiMap();
+
     /**
      * Returns all pointers in this PFG.
      */
@@ -128,13 +150,161 @@ class PointerFlowGraph {
      * otherwise false.
      */
     boolean addEdge(Pointer source, Pointer target) {
-        return successors.put(source, target);
+        source = getRepresentative(source);
+        target = getRepresentative(target);
+        return source != target && successors.put(source, target);
     }
 
     /**
-     * @return successors of given pointer in the PFG.
+     * @return successors of given pointer in the PFG. If some nodes
+     * have been merged, the given pointer should be a representative,
+     * and the returned successors are also representatives.
      */
     Set<Pointer> getSuccsOf(Pointer pointer) {
+        if (!parents.isEmpty()) {
+            // replace the successors that have been merged
+            // by their representatives
+            List<Pointer> merged = null;
+            for (Pointer succ : successors.get(pointer)) {
+                if (parents.containsKey(succ)) {
+                    if (merged == null) {
+                        merged = new ArrayList<>();
+                    }
+                    merged.add(succ);
+                }
+            }
+            if (merged != null) {
+                for (Pointer succ : merged) {
+                    successors.remove(pointer, succ);
+                    Pointer rep = getRepresentative(succ);
+                    if (rep != pointer) {
+                        successors.put(pointer, rep);
+                    }
+                }
+            }
+        }
         return successors.get(pointer);
     }
+
+    /**
+     * @return the representative of the node containing given pointer.
+     */
+    Pointer getRepresentative(Pointer pointer) {
+        if (parents.isEmpty()) {
+            return pointer;
+        }
+        Pointer rep = pointer;
+        Pointer parent;
+        while ((parent = parents.get(rep)) != null) {
+            rep = parent;
+        }
+        // path compression
+        while ((parent = parents.get(pointer)) != null && parent != rep) {
+            parents.put(pointer, rep);
+            pointer = parent;
+        }
+        return rep;
+    }
+
+    /**
+     * @return the pointers merged into given representative
+     * (including itself).
+     */
+    Set<Pointer> getMembers(Pointer rep) {
+        return members.containsKey(rep) ? members.get(rep) : Set.of(rep);
+    }
+
+    /**
+     * Merges the nodes of given representatives into one node.
+     *
+     * @return the representative of the merged node.
+     */
+    Pointer mergeNodes(List<Pointer> reps) {
+        Pointer rep = reps.get(0);
+        if (!members.containsKey(rep)) {
+            members.put(rep, rep);
+        }
+        for (Pointer other : reps.subList(1, reps.size())) {
+            parents.put(other, rep);
+            members.putAll(rep, getMembers(other));
+            members.removeAll(other);
+            for (Pointer succ : successors.get(other)) {
+                successors.put(rep, succ);
+            }
+            successors.removeAll(other);
+        }
+        // remove the edges inside the merged node
+        List<Pointer> inner = new ArrayList<>();
+        for (Pointer succ : successors.get(rep)) {
+            if (getRepresentative(succ) == rep) {
+                inner.add(succ);
+            }
+        }
+        inner.forEach(succ -> successors.remove(rep, succ));
+        return rep;
+    }
+
+    /**
+     * Finds the strongly connected components (with more than one node)
+     * that are reachable from given representative, by Tarjan's algorithm.
+     *
+     * @return representatives of the nodes in each component.
+     */
+    List<List<Pointer>> findSCCs(Pointer start) {
+        List<List<Pointer>> sccs = new ArrayList<>();
+        Map<Pointer, Integer> indexes = Maps.newMap();
+        Map<Pointer, Integer> lowLinks = Maps.newMap();
+        Deque<Pointer> stack = new ArrayDeque<>();
+        Set<Pointer> onStack = Sets.newSet();
+        // the DFS is iterative to avoid stack overflow on long chains
+        Deque<Pointer> path = new ArrayDeque<>();
+        Deque<Iterator<Pointer>> succIters = new ArrayDeque<>();
+        indexes.put(start, 0);
+        lowLinks.put(start, 0);
+        stack.push(start);
+        onStack.add(start);
+        path.push(start);
+        succIters.push(getSuccsOf(start).iterator());
+        while (!path.isEmpty()) {
+            Pointer node = path.peek();
+            Iterator<Pointer> succIter = succIters.peek();
+            if (succIter.hasNext()) {
+                Pointer succ = succIter.next();
+                if (!indexes.containsKey(succ)) {
+                    int index = indexes.size();
+                    indexes.put(succ, index);
+                    lowLinks.put(succ, index);
+                    stack.push(succ);
+                    onStack.add(succ);
+                    path.push(succ);
+                    succIters.push(getSuccsOf(succ).iterator());
+                } else if (onStack.contains(succ)) {
+                    lowLinks.put(node,
+                            Math.min(lowLinks.get(node), indexes.get(succ)));
+                }
+            } else {
+                path.pop();
+                succIters.pop();
+                int lowLink = lowLinks.get(node);
+                if (lowLink == indexes.get(node)) {
+                    List<Pointer> scc = new ArrayList<>();
+                    Pointer p;
+                    do {
+                        p = stack.pop();
+                        onStack.remove(p);
+                        scc.add(p);
+                    } while (p != node);
+                    if (scc.size() > 1) {
+                        sccs.add(scc);
+                    }
+                }
+                if (!path.isEmpty()) {
+                    Pointer parent = path.peek();
+                    lowLinks.put(parent,
+                            Math.min(lowLinks.get(parent), lowLink));
+                }
+            }
+        }
+        return sccs;
+    }
 }
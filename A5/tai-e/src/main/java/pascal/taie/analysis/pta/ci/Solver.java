@@ -37,11 +37,30 @@ import pascal.taie.language.classes.ClassHierarchy;
 import pascal.taie.language.classes.JField;
 import pascal.taie.language.classes.JMethod;
 import pascal.taie.language.type.Type;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.MultiMap;
+
+import java.util.List;
 
 class Solver {
 
     private final HeapModel heapModel;
 
+    /**
+     * Whether merge pending entries of the same pointer in the work list.
+     */
+    private final boolean coalesceWorkList;
+
+    /**
+     * Whether merge the pointers in PFG cycles.
+     */
+    private final boolean collapseCycles;
+
+    /**
+     * PFG edges that have been checked by lazy cycle detection.
+     */
+    private MultiMap<Pointer, Pointer> checkedEdges;
+
     private DefaultCallGraph callGraph;
 
     private PointerFlowGraph pointerFlowGraph;
@@ -52,8 +71,11 @@ class Solver {
 
     private ClassHierarchy hierarchy;
 
-    Solver(HeapModel heapModel) {
+    Solver(HeapModel heapModel, boolean coalesceWorkList,
+           boolean collapseCycles) {
         this.heapModel = heapModel;
+        this.coalesceWorkList = coalesceWorkList;
+        this.collapseCycles = collapseCycles;
     }
 
     /**
@@ -68,8 +90,9 @@ class Solver {
      * Initializes pointer analysis.
      */
     private void initialize() {
-        workList = new WorkList();
+        workList = coalesceWorkList ? new CoalescingWorkList() : new FifoWorkList();
         pointerFlowGraph = new PointerFlowGraph();
+        checkedEdges = Maps.newMultiMap();
         callGraph = new DefaultCallGraph();
         stmtProcessor = new StmtProcessor();
         hierarchy = World.get().getClassHierarchy();
@@ -166,43 +189,110 @@ class Solver {
         while (!workList.isEmpty()){
             // 1. remove <n,pts> from WL
             WorkList.Entry entry = workList.pollEntry();
-            Pointer ptr = entry.pointer();
+            // the pointers merged by cycle collapsing are processed
+            // via the representative of their PFG node
+            Pointer rep = pointerFlowGraph.getRepresentative(entry.pointer());
             PointsToSet pts = entry.pointsToSet();
             // 2. get the Δ
-            PointsToSet delta = propagate(ptr, pts);
+            PointsToSet delta = propagate(rep, pts);
+            if (delta.isEmpty()) {
+                if (collapseCycles) {
+                    detectCycles(rep);
+                }
+                continue;
+            }
             // 3. if n represents a variable x then
-            if (ptr instanceof VarPtr varPtr) {
-                // 3.1 foreach oi in Δ do
-                Var x = varPtr.getVar();
-                if (delta.isEmpty()) continue;
-                delta.forEach(obj -> {
-                    // 3.1.1 foreach y = x.f in S do
-                    x.getLoadFields().forEach(loadField -> {
-                        JField f = loadField.getFieldRef().resolve();
-                        Var y = loadField.getLValue();
-                        addPFGEdge(pointerFlowGraph.getInstanceField(obj, f), pointerFlowGraph.getVarPtr(y));
-                    });
-                    // 3.1.2 foreach x.f = y in S do
-                    x.getStoreFields().forEach(storeField -> {
-                        JField f = storeField.getFieldRef().resolve();
-                        Var y = storeField.getRValue();
-                        addPFGEdge(pointerFlowGraph.getVarPtr(y), pointerFlowGraph.getInstanceField(obj, f));
-                    });
-                    // 3.1.3 foreach y = x[*] in S do
-                    x.getLoadArrays().forEach(loadArray -> {
-                        Var y = loadArray.getLValue();
-                        addPFGEdge(pointerFlowGraph.getArrayIndex(obj), pointerFlowGraph.getVarPtr(y));
-                    });
-                    // 3.1.4 foreach x[*] = y in S do
-                    x.getStoreArrays().forEach(storeArray -> {
-                        Var y = storeArray.getRValue();
-                        addPFGEdge(pointerFlowGraph.getVarPtr(y), pointerFlowGraph.getArrayIndex(obj));
-                    });
-                    // 3.1.5 foreach y = x.m(...) in S do 方法调用
-                    processCall(x, obj);
-                });
+            for (Pointer ptr : pointerFlowGraph.getMembers(rep)) {
+                if (ptr instanceof VarPtr varPtr) {
+                    processNewObjects(varPtr.getVar(), delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes the new objects pointed by a variable.
+     *
+     * @param x     the variable
+     * @param delta set of new discovered objects pointed by the variable.
+     */
+    private void processNewObjects(Var x, PointsToSet delta) {
+        // 3.1 foreach oi in Δ do
+        delta.forEach(obj -> {
+            // 3.1.1 foreach y = x.f in S do
+            x.getLoadFields().forEach(loadField -> {
+                JField f = loadField.getFieldRef().resolve();
+                Var y = loadField.getLValue();
+                addPFGEdge(pointerFlowGraph.getInstanceField(obj, f), pointerFlowGraph.getVarPtr(y));
+            });
+            // 3.1.2 foreach x.f = y in S do
+            x.getStoreFields().forEach(storeField -> {
+                JField f = storeField.getFieldRef().resolve();
+                Var y = storeField.getRValue();
+                addPFGEdge(pointerFlowGraph.getVarPtr(y), pointerFlowGraph.getInstanceField(obj, f));
+            });
+            // 3.1.3 foreach y = x[*] in S do
+            x.getLoadArrays().forEach(loadArray -> {
+                Var y = loadArray.getLValue();
+                addPFGEdge(pointerFlowGraph.getArrayIndex(obj), pointerFlowGraph.getVarPtr(y));
+            });
+            // 3.1.4 foreach x[*] = y in S do
+            x.getStoreArrays().forEach(storeArray -> {
+                Var y = storeArray.getRValue();
+                addPFGEdge(pointerFlowGraph.getVarPtr(y), pointerFlowGraph.getArrayIndex(obj));
+            });
+            // 3.1.5 foreach y = x.m(...) in S do 方法调用
+            processCall(x, obj);
+        });
+    }
+
+    /**
+     * Lazy cycle detection: when propagating to a pointer changes nothing,
+     * and one of its successors has the same points-to set, they are
+     * likely in a cycle. Then searches cycles from the successor, and
+     * merges the pointers in each found cycle. Each edge is checked once.
+     */
+    private void detectCycles(Pointer rep) {
+        PointsToSet pts = rep.getPointsToSet();
+        if (pts.isEmpty()) {
+            return;
+        }
+        Pointer start = null;
+        for (Pointer succ : pointerFlowGraph.getSuccsOf(rep)) {
+            PointsToSet succPts = succ.getPointsToSet();
+            if (succPts.size() == pts.size()
+                    && checkedEdges.put(rep, succ)
+                    && pts.objects().allMatch(succPts::contains)) {
+                start = succ;
+                break;
+            }
+        }
+        if (start != null) {
+            pointerFlowGraph.findSCCs(start).forEach(this::collapseCycle);
+        }
+    }
+
+    /**
+     * Merges the pointers in a cycle, so that they share one points-to set.
+     * As their previous points-to sets may differ, each of them is first
+     * brought up to the union of the sets, which propagates to its
+     * successors and processes only the objects it was missing, and then
+     * the union is shared by the merged node.
+     */
+    private void collapseCycle(List<Pointer> cycle) {
+        PointsToSet union = new PointsToSet();
+        cycle.forEach(p -> p.getPointsToSet().forEach(union::addObject));
+        for (Pointer p : cycle) {
+            PointsToSet delta = propagate(p, union);
+            for (Pointer member : pointerFlowGraph.getMembers(p)) {
+                if (member instanceof VarPtr varPtr) {
+                    processNewObjects(varPtr.getVar(), delta);
+                }
             }
         }
+        Pointer rep = pointerFlowGraph.mergeNodes(cycle);
+        PointsToSet shared = rep.getPointsToSet();
+        pointerFlowGraph.getMembers(rep).forEach(p -> p.setPointsToSet(shared));
     }
 
     /**
@@ -78,4 +78,14 @@ public class CIPTATest {
     public void testMergeParam() {
         Tests.testCIPTA(DIR, "MergeParam");
     }
+
+    @Test
+    public void testMergeParamCoalescing() {
+        Tests.testCIPTA(DIR, "MergeParam", "coalesce-work-list:true");
+    }
+
+    @Test
+    public void testAssign2CollapseCycles() {
+        Tests.testCIPTA(DIR, "Assign2", "collapse-cycles:true");
+    }
 }
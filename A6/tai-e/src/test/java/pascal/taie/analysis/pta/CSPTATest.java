@@ -93,4 +93,9 @@ public class CSPTATest {
     public void testArray() {
         Tests.testCSPTA(DIR, "Array");
     }
+
+    @Test
+    public void testTwoObjectStreaming() {
+        Tests.testCSPTA(DIR, "TwoObject", "cs:2-obj;streaming:true");
+    }
 }
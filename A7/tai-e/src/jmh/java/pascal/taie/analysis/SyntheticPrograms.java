@@ -0,0 +1,95 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates synthetic programs of given scales for benchmarks.
+ */
+public final class SyntheticPrograms {
+
+    /**
+     * Main class of the generated programs.
+     */
+    public static final String MAIN = "Synthetic";
+
+    private SyntheticPrograms() {
+    }
+
+    /**
+     * Generates a program for constant propagation. The program has
+     * {@code scale} methods, each of which computes with int constants,
+     * loops, branches and fields, and calls the next method, so that
+     * the numbers of statements, call edges and aliases grow with the scale.
+     *
+     * @return the class path of the generated program.
+     */
+    public static String generateDataflowProgram(int scale) throws IOException {
+        StringBuilder code = new StringBuilder();
+        code.append("class ").append(MAIN).append(" {\n\n")
+                .append("    static int g;\n\n")
+                .append("    public static void main(String[] args) {\n")
+                .append("        int x = m0(1);\n")
+                .append("    }\n");
+        for (int i = 0; i < scale; ++i) {
+            String next = i + 1 < scale ? "m" + (i + 1) + "(c)" : "c";
+            code.append(String.format("""
+
+                        static int m%d(int a) {
+                            int b = a + %d;
+                            int c = b * 2;
+                            for (int k = 0; k < 3; k++) {
+                                c = c + k;
+                            }
+                            Holder h = new Holder();
+                            h.f = b;
+                            int d = h.f;
+                            if (d > c) {
+                                c = d;
+                            }
+                            g = b;
+                            return %s;
+                        }
+                    """, i, i, next));
+        }
+        code.append("""
+                }
+
+                class Holder {
+
+                    int f;
+                }
+                """);
+        return write("dataflow-" + scale, code);
+    }
+
+    private static String write(String name, CharSequence code) throws IOException {
+        Path dir = Path.of("build", "jmh-programs", name);
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(MAIN + ".java"), code);
+        return dir.toString();
+    }
+}
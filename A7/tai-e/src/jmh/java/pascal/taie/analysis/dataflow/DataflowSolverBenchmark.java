@@ -0,0 +1,134 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.dataflow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pascal.taie.Main;
+import pascal.taie.World;
+import pascal.taie.analysis.SyntheticPrograms;
+import pascal.taie.analysis.dataflow.analysis.constprop.ConstantPropagation;
+import pascal.taie.analysis.dataflow.inter.InterConstantPropagation;
+import pascal.taie.analysis.graph.cfg.CFGBuilder;
+import pascal.taie.config.AnalysisConfig;
+import pascal.taie.ir.IR;
+import pascal.taie.language.classes.JMethod;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link pascal.taie.analysis.dataflow.solver.WorkListSolver}
+ * (by intraprocedural constant propagation of all methods) and
+ * {@link pascal.taie.analysis.dataflow.inter.InterSolver}
+ * (by alias-aware interprocedural constant propagation)
+ * on test programs and synthetic programs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class DataflowSolverBenchmark {
+
+    /**
+     * Program to be analyzed, either "dir/main" for a test program
+     * in src/test/resources/dataflow/constprop, or "synthetic/scale"
+     * for a synthetic program of the scale.
+     */
+    @Param({"alias/ArrayLoops", "alias/ObjSens", "alias/Interprocedural2",
+            "synthetic/100", "synthetic/1000"})
+    public String program;
+
+    private List<IR> irs;
+
+    private ConstantPropagation constprop;
+
+    private AnalysisConfig interConstpropConfig;
+
+    private AnalysisConfig interConstpropRPOConfig;
+
+    /**
+     * Builds the world and runs the analyses required by
+     * constant propagation, i.e., pointer analysis and ICFG.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] splits = program.split("/");
+        String classPath, main;
+        if (splits[0].equals("synthetic")) {
+            classPath = SyntheticPrograms.generateDataflowProgram(
+                    Integer.parseInt(splits[1]));
+            main = SyntheticPrograms.MAIN;
+        } else {
+            classPath = "src/test/resources/dataflow/constprop/" + splits[0];
+            main = splits[1];
+        }
+        Main.main(new String[]{"-pp", "-cp", classPath, "-m", main,
+                "-a", "cspta=cs:2-obj", "-a", "cg=algorithm:cspta", "-a", "icfg"});
+        irs = World.get().getClassHierarchy()
+                .applicationClasses()
+                .flatMap(c -> c.getDeclaredMethods().stream())
+                .filter(m -> !m.isAbstract() && !m.isNative())
+                .map(JMethod::getIR)
+                .filter(ir -> ir.getResult(CFGBuilder.ID) != null)
+                .toList();
+        constprop = new ConstantPropagation(
+                new AnalysisConfig(ConstantPropagation.ID));
+        interConstpropConfig = new AnalysisConfig(InterConstantPropagation.ID,
+                "edge-refine", false, "alias-aware", true, "pta", "cspta");
+        interConstpropRPOConfig = new AnalysisConfig(InterConstantPropagation.ID,
+                "edge-refine", false, "alias-aware", true, "pta", "cspta",
+                "worklist", "rpo");
+    }
+
+    @Benchmark
+    public void workListSolver(Blackhole bh) {
+        for (IR ir : irs) {
+            bh.consume(constprop.analyze(ir));
+        }
+    }
+
+    @Benchmark
+    public Object interSolver() {
+        return new InterConstantPropagation(interConstpropConfig).analyze();
+    }
+
+    @Benchmark
+    public Object interSolverRPO() {
+        return new InterConstantPropagation(interConstpropRPOConfig).analyze();
+    }
+}
@@ -45,6 +45,12 @@ public abstract class AbstractInterDataflowAnalysis<Method, Node, Fact>
         extends ProgramAnalysis
         implements InterDataflowAnalysis<Node, Fact> {
 
+    /**
+     * Default bound of the contexts analyzed for each method
+     * by the summary-based solver.
+     */
+    private static final int DEFAULT_MAX_CONTEXTS = 8;
+
     protected ICFG<Method, Node> icfg;
 
     protected InterSolver<Method, Node, Fact> solver;
@@ -121,7 +127,15 @@ public abstract class AbstractInterDataflowAnalysis<Method, Node, Fact>
     public Object analyze() {
         icfg = World.get().getResult(ICFGBuilder.ID);
         initialize();
-        solver = new InterSolver<>(this, icfg);
+        if ("summary".equals(getOptions().getString("solver"))) {
+            int maxContexts = getOptions().get("max-contexts") instanceof Integer n
+                    ? n : DEFAULT_MAX_CONTEXTS;
+            solver = new SummarySolver<>(this, icfg, maxContexts);
+        } else {
+            String workList = getOptions().getString("worklist");
+            solver = new InterSolver<>(this, icfg,
+                    workList != null ? workList : InterSolver.FIFO);
+        }
         DataflowResult<Node, Fact> result = solver.solve();
         finish();
         return result;
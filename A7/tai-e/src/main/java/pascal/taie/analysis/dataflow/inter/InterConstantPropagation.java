@@ -43,6 +43,9 @@ import pascal.taie.ir.exp.*;
 import pascal.taie.ir.stmt.*;
 import pascal.taie.language.classes.JMethod;
 import pascal.taie.language.classes.JField;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.MultiMap;
+import pascal.taie.util.collection.Pair;
 
 import java.util.*;
 
@@ -58,8 +61,15 @@ public class InterConstantPropagation extends
 
     private final ConstantPropagation cp;
 
-    // 用于保存每个变量的别名，base -> (var1, vat2...)
-    private Map<Var, HashSet<Var>> allVarAliases;
+    private PointerAnalysisResult pta;
+    // 对象到指向它的变量的倒排索引，obj -> (var1, var2...)
+    private MultiMap<Obj, Var> objToVars;
+    // 依赖索引，(obj, field) -> 对该对象字段的 store/load 语句
+    private MultiMap<Pair<Obj, JField>, StoreField> fieldStores;
+    private MultiMap<Pair<Obj, JField>, LoadField> fieldLoads;
+    // 依赖索引，数组对象 obj -> 对该数组的 store/load 语句
+    private MultiMap<Obj, StoreArray> arrayStores;
+    private MultiMap<Obj, LoadArray> arrayLoads;
     // 用于保存静态的 Store 和 Load
     private Map<JField, HashSet<StoreField>> staticFieldStore;
     private Map<JField, HashSet<LoadField>> staticFieldLoad;
@@ -72,25 +82,28 @@ public class InterConstantPropagation extends
     @Override
     protected void initialize() {
         String ptaId = getOptions().getString("pta");
-        PointerAnalysisResult pta = World.get().getResult(ptaId);
+        pta = World.get().getResult(ptaId);
         // You can do initialization work here
-        // 这里存储每个变量的别名信息，base -> (var1, vat2...)
-        allVarAliases = new HashMap<>();
-        for (Var base : pta.getVars()) {
-            for (Var otherVar : pta.getVars()) {  // 遍历所有的 var，查看 PointsToSet 存在交集的情况设置别名
-                Set<Obj> basePointsToSet = pta.getPointsToSet(base);
-                if (basePointsToSet.isEmpty()) continue;
-                basePointsToSet.forEach(baseObj -> {
-                    // 对于 basePointsToSet，若是其中的 baseObj 被 otherVar 的 PointsToSet 所包含
-                    // 即二者 PointsToSet存在交集，则认为 otherVar 为 base 的一个别名
-                    if (pta.getPointsToSet(otherVar).contains(baseObj)) {
-                        HashSet<Var> baseAliases = allVarAliases.getOrDefault(base, new HashSet<>());
-                        baseAliases.add(otherVar);
-                        allVarAliases.put(base, baseAliases);
-                    }
-                });
-            }
+        // 只遍历一遍指针分析结果，记录每个对象被哪些变量指向；
+        // 两个变量的 PointsToSet 存在交集，当且仅当它们出现在同一个对象的变量列表中
+        objToVars = Maps.newMultiMap();
+        for (Var var : pta.getVars()) {
+            pta.getPointsToSet(var).forEach(obj -> objToVars.put(obj, var));
         }
+        // 按对象（以及字段）归类实例字段和数组的 store/load 语句，
+        // 之后处理 store/load 时只需查找 base 所指向对象上真正相关的语句
+        fieldStores = Maps.newMultiMap();
+        fieldLoads = Maps.newMultiMap();
+        arrayStores = Maps.newMultiMap();
+        arrayLoads = Maps.newMultiMap();
+        objToVars.forEach((obj, var) -> {
+            var.getStoreFields().forEach(storeField -> fieldStores.put(
+                    new Pair<>(obj, storeField.getFieldRef().resolve()), storeField));
+            var.getLoadFields().forEach(loadField -> fieldLoads.put(
+                    new Pair<>(obj, loadField.getFieldRef().resolve()), loadField));
+            var.getStoreArrays().forEach(storeArray -> arrayStores.put(obj, storeArray));
+            var.getLoadArrays().forEach(loadArray -> arrayLoads.put(obj, loadArray));
+        });
 
         // 这里存储静态字段的别名信息，由于它只存在 T.f 一种
         staticFieldStore = new HashMap<>();
@@ -139,6 +152,44 @@ public class InterConstantPropagation extends
         return out.copyFrom(in);
     }
 
+    /**
+     * @return the stores to base.field on the objects pointed to by base.
+     */
+    private Set<StoreField> getStoreFields(Var base, JField field) {
+        Set<StoreField> storeFields = new HashSet<>();
+        pta.getPointsToSet(base).forEach(obj ->
+                storeFields.addAll(fieldStores.get(new Pair<>(obj, field))));
+        return storeFields;
+    }
+
+    /**
+     * @return the loads of base.field on the objects pointed to by base.
+     */
+    private Set<LoadField> getLoadFields(Var base, JField field) {
+        Set<LoadField> loadFields = new HashSet<>();
+        pta.getPointsToSet(base).forEach(obj ->
+                loadFields.addAll(fieldLoads.get(new Pair<>(obj, field))));
+        return loadFields;
+    }
+
+    /**
+     * @return the stores to the arrays pointed to by base.
+     */
+    private Set<StoreArray> getStoreArrays(Var base) {
+        Set<StoreArray> storeArrays = new HashSet<>();
+        pta.getPointsToSet(base).forEach(obj -> storeArrays.addAll(arrayStores.get(obj)));
+        return storeArrays;
+    }
+
+    /**
+     * @return the loads of the arrays pointed to by base.
+     */
+    private Set<LoadArray> getLoadArrays(Var base) {
+        Set<LoadArray> loadArrays = new HashSet<>();
+        pta.getPointsToSet(base).forEach(obj -> loadArrays.addAll(arrayLoads.get(obj)));
+        return loadArrays;
+    }
+
     private boolean isArrayIndexAlias(Value indexI, Value indexJ) {
         boolean isAlias = false;
         if ((indexI.isConstant() && indexJ.isConstant()) && indexI.getConstant() == indexJ.getConstant()) {
@@ -169,14 +220,10 @@ public class InterConstantPropagation extends
                     for (StoreField storeField : storeFields) {
                         resValue = cp.meetValue(resValue, dataflowResult.getOutFact(storeField).get(storeField.getRValue()));
                     }
-                } else {   // 实例字段的load，则是根据对象 base 来在 allVarAliases 寻找别名，将对该对象的 store 操作进行 meetValue
+                } else {   // 实例字段的load，则是根据 base 指向的对象在依赖索引中查找对同一字段的 store 操作进行 meetValue
                     Var base = ((InstanceFieldAccess) loadField.getFieldAccess()).getBase();
-                    for (Var var : allVarAliases.getOrDefault(base, new HashSet<>())) {
-                        for (StoreField storeField : var.getStoreFields()) {
-                            if (jField == storeField.getFieldRef().resolve()) {
-                                resValue = cp.meetValue(resValue, dataflowResult.getOutFact(storeField).get(storeField.getRValue()));
-                            }
-                        }
+                    for (StoreField storeField : getStoreFields(base, jField)) {
+                        resValue = cp.meetValue(resValue, dataflowResult.getOutFact(storeField).get(storeField.getRValue()));
                     }
                 }
                 // 若是满足 load 的条件，对 copyIn 进行更新，所以下面与 out 比较的判断因为存在改动而返回 true
@@ -197,11 +244,11 @@ public class InterConstantPropagation extends
                         });
                     } else {
                         Var base = ((InstanceFieldAccess) storeField.getFieldAccess()).getBase();
-                        for (Var var : allVarAliases.getOrDefault(base, new HashSet<>())) {
-                            var.getLoadFields().forEach(loadField -> {
-                                solver.addWorkList(loadField);
-                            });
-                        }
+                        // 只有读取同一对象同一字段的 load 操作依赖于这里的 store
+                        JField jField = storeField.getFieldRef().resolve();
+                        getLoadFields(base, jField).forEach(loadField -> {
+                            solver.addWorkList(loadField);
+                        });
                     }
                 }
                 // 这里 StoreField 和 StoreArray 都加上这里的 return 才可以通过样例，而之前通过最后的 return 返回就是错的
@@ -211,12 +258,10 @@ public class InterConstantPropagation extends
                 // load 的操作一样，寻找别名的 store 操作，然后把 store 的 rhs meet 计算，赋值给 load 的 lhs
                 Var base = loadArray.getArrayAccess().getBase();
                 Value loadIndexValue = in.get(loadArray.getArrayAccess().getIndex());
-                for (Var var : allVarAliases.getOrDefault(base, new HashSet<>())) {
-                    for (StoreArray storeArray : var.getStoreArrays()) {
-                        Value storeIndexValue = dataflowResult.getInFact(storeArray).get(storeArray.getArrayAccess().getIndex());
-                        if (isArrayIndexAlias(loadIndexValue, storeIndexValue)) {
-                            resValue = cp.meetValue(resValue, dataflowResult.getOutFact(storeArray).get(storeArray.getRValue()));
-                        }
+                for (StoreArray storeArray : getStoreArrays(base)) {
+                    Value storeIndexValue = dataflowResult.getInFact(storeArray).get(storeArray.getArrayAccess().getIndex());
+                    if (isArrayIndexAlias(loadIndexValue, storeIndexValue)) {
+                        resValue = cp.meetValue(resValue, dataflowResult.getOutFact(storeArray).get(storeArray.getRValue()));
                     }
                 }
                 if(resValue != Value.getUndef()){
@@ -227,11 +272,9 @@ public class InterConstantPropagation extends
                 boolean isChange = cp.transferNode(stmt, in, out);
                 if (isChange) {
                     Var base = storeArray.getArrayAccess().getBase();
-                    for (Var var : allVarAliases.getOrDefault(base, new HashSet<>())) {
-                        var.getLoadArrays().forEach(loadArray -> {
-                            solver.addWorkList(loadArray);
-                        });
-                    }
+                    getLoadArrays(base).forEach(loadArray -> {
+                        solver.addWorkList(loadArray);
+                    });
                 }
                 return isChange;
             }
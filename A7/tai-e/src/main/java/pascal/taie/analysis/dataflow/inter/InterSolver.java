@@ -22,9 +22,12 @@
 
 package pascal.taie.analysis.dataflow.inter;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import pascal.taie.analysis.dataflow.fact.DataflowResult;
 import pascal.taie.analysis.graph.icfg.ICFG;
 import pascal.taie.analysis.graph.icfg.ICFGEdge;
+import pascal.taie.config.ConfigException;
 import pascal.taie.util.collection.SetQueue;
 
 import java.util.Queue;
@@ -38,18 +41,46 @@ import java.util.stream.Collectors;
  */
 class InterSolver<Method, Node, Fact> {
 
-    private final InterDataflowAnalysis<Node, Fact> analysis;
+    private static final Logger logger = LogManager.getLogger(InterSolver.class);
 
-    private final ICFG<Method, Node> icfg;
+    /**
+     * Work-list strategies: FIFO processes the nodes in insertion order,
+     * RPO always processes the pending node that comes first in the
+     * reverse post-order of the ICFG.
+     */
+    static final String FIFO = "fifo", RPO = "rpo";
+
+    protected final InterDataflowAnalysis<Node, Fact> analysis;
+
+    protected final ICFG<Method, Node> icfg;
 
     private DataflowResult<Node, Fact> result;
 
+    private final String workListStrategy;
+
     private Queue<Node> workList;
 
+    /**
+     * Number of nodes processed in the last solving.
+     */
+    private long iterations;
+
     InterSolver(InterDataflowAnalysis<Node, Fact> analysis,
                 ICFG<Method, Node> icfg) {
+        this(analysis, icfg, FIFO);
+    }
+
+    /**
+     * @param workListStrategy {@link #FIFO} or {@link #RPO}
+     */
+    InterSolver(InterDataflowAnalysis<Node, Fact> analysis,
+                ICFG<Method, Node> icfg, String workListStrategy) {
+        if (!FIFO.equals(workListStrategy) && !RPO.equals(workListStrategy)) {
+            throw new ConfigException("Unknown work-list strategy: " + workListStrategy);
+        }
         this.analysis = analysis;
         this.icfg = icfg;
+        this.workListStrategy = workListStrategy;
     }
 
     DataflowResult<Node, Fact> solve() {
@@ -63,6 +94,13 @@ class InterSolver<Method, Node, Fact> {
         return result;
     }
 
+    /**
+     * @return the number of nodes processed in the last solving.
+     */
+    long getIterations() {
+        return iterations;
+    }
+
     private void initialize() {
         /* TODO - finish me */
         for (Node node : icfg) {
@@ -78,11 +116,15 @@ class InterSolver<Method, Node, Fact> {
 
     private void doSolve() {
         /* TODO - finish me */
-        workList = new SetQueue<>();
+        workList = RPO.equals(workListStrategy)
+                ? new ReversePostOrderQueue<>(icfg)
+                : new SetQueue<>();
         // 将所有的方法的入口节点加入到workList中
         workList.addAll(icfg.getNodes());
+        iterations = 0;
         while (!workList.isEmpty()) {
             Node basicNode = workList.poll();
+            ++iterations;
             Fact in = result.getInFact(basicNode);
             Fact out = result.getOutFact(basicNode);
             // 对于每一个入边，将其meet到in中
@@ -94,11 +136,12 @@ class InterSolver<Method, Node, Fact> {
                 workList.addAll(icfg.getSuccsOf(basicNode));
             }
         }
+        logger.info("{} work-list: {} iterations over {} ICFG nodes",
+                workListStrategy, iterations, icfg.getNumberOfNodes());
     }
 
     public void addWorkList(Node node){
-        if(!workList.contains(node)){
-            workList.add(node);
-        }
+        // SetQueue 和 ReversePostOrderQueue 都会忽略已在 workList 中的节点
+        workList.add(node);
     }
 }
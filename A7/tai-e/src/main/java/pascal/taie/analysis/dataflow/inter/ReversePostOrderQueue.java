@@ -0,0 +1,195 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package pascal.taie.analysis.dataflow.inter;
+
+import pascal.taie.analysis.graph.icfg.ICFG;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Work-list which always polls the node that comes first in the reverse
+ * post-order (RPO) of the ICFG. The order is computed once by a depth-first
+ * traversal starting from the entries of the entry methods and following
+ * all ICFG edges, so that it respects the control flow inside each method
+ * as well as the call and return edges across methods.
+ * <p>
+ * Nodes are numbered by their RPO indexes and the pending nodes are
+ * kept in a {@link BitSet}, thus adding, polling and membership tests
+ * do not need hashing, and a node is never added twice.
+ *
+ * @param <Node> type of ICFG nodes
+ */
+class ReversePostOrderQueue<Node> extends AbstractQueue<Node> {
+
+    /**
+     * RPO index -> node.
+     */
+    private final Object[] nodes;
+
+    /**
+     * Node -> RPO index.
+     */
+    private final Map<Node, Integer> indexes;
+
+    private final BitSet pending;
+
+    /**
+     * Lower bound of the indexes of pending nodes.
+     */
+    private int first = 0;
+
+    private int size = 0;
+
+    ReversePostOrderQueue(ICFG<?, Node> icfg) {
+        List<Node> postOrder = computePostOrder(icfg);
+        int n = postOrder.size();
+        nodes = new Object[n];
+        indexes = Maps.newMap(n);
+        for (int i = 0; i < n; ++i) {
+            Node node = postOrder.get(n - 1 - i);
+            nodes[i] = node;
+            indexes.put(node, i);
+        }
+        pending = new BitSet(n);
+    }
+
+    /**
+     * Iterative depth-first traversal of the ICFG. The nodes unreachable
+     * from the entry methods are traversed after the reachable ones,
+     * so that every node obtains an index.
+     */
+    private static <Method, Node> List<Node> computePostOrder(
+            ICFG<Method, Node> icfg) {
+        List<Node> postOrder = new ArrayList<>(icfg.getNumberOfNodes());
+        Set<Node> visited = Sets.newSet(icfg.getNumberOfNodes());
+        Deque<Node> roots = new ArrayDeque<>();
+        icfg.entryMethods().forEach(m -> roots.add(icfg.getEntryOf(m)));
+        roots.addAll(icfg.getNodes());
+        Deque<Node> stack = new ArrayDeque<>();
+        Deque<Iterator<Node>> succs = new ArrayDeque<>();
+        for (Node root : roots) {
+            if (!visited.add(root)) {
+                continue;
+            }
+            stack.push(root);
+            succs.push(icfg.getSuccsOf(root).iterator());
+            while (!stack.isEmpty()) {
+                Iterator<Node> it = succs.peek();
+                if (it.hasNext()) {
+                    Node succ = it.next();
+                    if (visited.add(succ)) {
+                        stack.push(succ);
+                        succs.push(icfg.getSuccsOf(succ).iterator());
+                    }
+                } else {
+                    postOrder.add(stack.pop());
+                    succs.pop();
+                }
+            }
+        }
+        return postOrder;
+    }
+
+    @Override
+    public boolean offer(Node node) {
+        Integer index = indexes.get(node);
+        if (index == null) {
+            throw new IllegalArgumentException(node + " is not in the ICFG");
+        }
+        if (pending.get(index)) {
+            return false;
+        }
+        pending.set(index);
+        first = Math.min(first, index);
+        ++size;
+        return true;
+    }
+
+    @Override
+    public Node poll() {
+        if (size == 0) {
+            return null;
+        }
+        int index = pending.nextSetBit(first);
+        pending.clear(index);
+        first = index + 1;
+        --size;
+        return node(index);
+    }
+
+    @Override
+    public Node peek() {
+        return size == 0 ? null : node(pending.nextSetBit(first));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Integer index = indexes.get(o);
+        return index != null && pending.get(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Node> iterator() {
+        return new Iterator<>() {
+
+            private int next = pending.nextSetBit(first);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public Node next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                Node node = node(next);
+                next = pending.nextSetBit(next + 1);
+                return node;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node node(int index) {
+        return (Node) nodes[index];
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package pascal.taie.analysis.dataflow.inter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pascal.taie.analysis.dataflow.fact.DataflowResult;
+import pascal.taie.analysis.graph.icfg.CallEdge;
+import pascal.taie.analysis.graph.icfg.ICFG;
+import pascal.taie.analysis.graph.icfg.ICFGEdge;
+import pascal.taie.analysis.graph.icfg.ReturnEdge;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.MultiMap;
+import pascal.taie.util.collection.Pair;
+import pascal.taie.util.collection.SetQueue;
+import pascal.taie.util.collection.Sets;
+import pascal.taie.util.collection.TwoKeyMap;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Summary-based solver for inter-procedural data-flow analysis, following
+ * the functional approach of Sharir and Pnueli.
+ * <p>
+ * Instead of propagating facts along call and return edges over the whole
+ * ICFG, each method is analyzed separately for every distinct entry fact
+ * (a <i>context</i>), and the exit fact of a context serves as the summary
+ * of the method for that entry fact. A call site computes the entry fact
+ * of each callee, and reuses the summary of the matching context if it
+ * already exists, so a callee is re-analyzed only when it is called
+ * with a new entry fact. Contexts of a method are bounded by
+ * {@code maxContexts}; beyond that, the remaining entry facts are merged
+ * into a single overflow context of the method, which guarantees
+ * termination for recursive methods.
+ * <p>
+ * The result for each node is the meet of its facts in all contexts.
+ * It is maintained during solving, so that analyses which query the
+ * result (e.g., alias-aware constant propagation) observe facts of
+ * all contexts, and {@link #addWorkList(Object)} re-processes the node
+ * in every live context of its method, i.e., a context of an entry method,
+ * or a context which is still used by some call site. A stale context is
+ * re-processed as a whole when a call site uses it again.
+ *
+ * @param <Method> type of ICFG methods
+ * @param <Node>   type of ICFG nodes
+ * @param <Fact>   type of data-flow facts, which must implement
+ *                 {@code equals} and {@code hashCode}
+ */
+class SummarySolver<Method, Node, Fact> extends InterSolver<Method, Node, Fact> {
+
+    private static final Logger logger = LogManager.getLogger(SummarySolver.class);
+
+    private final int maxContexts;
+
+    private MultiMap<Method, Node> methodNodes;
+
+    /**
+     * Method -> entry fact -> context.
+     */
+    private TwoKeyMap<Method, Fact, Context> contexts;
+
+    private Map<Method, Context> overflowContexts;
+
+    /**
+     * Meet of the facts of all contexts.
+     */
+    private DataflowResult<Node, Fact> result;
+
+    private Queue<Pair<Context, Node>> workList;
+
+    private long iterations;
+
+    private int nContexts;
+
+    /**
+     * Analysis of a method under an entry fact.
+     */
+    private class Context {
+
+        private final Method method;
+
+        private final Node entry;
+
+        private final Node exit;
+
+        private final DataflowResult<Node, Fact> facts = new DataflowResult<>();
+
+        /**
+         * (call site, callee) -> callee context used by the call site.
+         */
+        private final TwoKeyMap<Node, Method, Context> callees = Maps.newTwoKeyMap();
+
+        /**
+         * (caller context, call site) pairs which use this context.
+         */
+        private final Set<Pair<Context, Node>> callers = Sets.newHybridSet();
+
+        /**
+         * Whether this context is created for an entry method.
+         */
+        private boolean root;
+
+        private Context(Method method, Fact entryFact) {
+            this.method = method;
+            this.entry = icfg.getEntryOf(method);
+            this.exit = icfg.getExitOf(method);
+            for (Node node : methodNodes.get(method)) {
+                facts.setInFact(node, analysis.newInitialFact());
+                facts.setOutFact(node, analysis.newInitialFact());
+            }
+            analysis.meetInto(entryFact, facts.getInFact(entry));
+            analysis.meetInto(entryFact, facts.getOutFact(entry));
+            methodNodes.get(method).forEach(node -> workList.add(new Pair<>(this, node)));
+            ++nContexts;
+        }
+
+        /**
+         * @return true if this context is a root context or still used
+         * by some call site. A context becomes stale when all of its
+         * call sites switch to other contexts, e.g., the overflow context.
+         */
+        private boolean isLive() {
+            return root || !callers.isEmpty();
+        }
+    }
+
+    SummarySolver(InterDataflowAnalysis<Node, Fact> analysis,
+                  ICFG<Method, Node> icfg, int maxContexts) {
+        super(analysis, icfg);
+        this.maxContexts = maxContexts;
+    }
+
+    @Override
+    DataflowResult<Node, Fact> solve() {
+        initialize();
+        doSolve();
+        return result;
+    }
+
+    @Override
+    DataflowResult<Node, Fact> getResult() {
+        return result;
+    }
+
+    @Override
+    long getIterations() {
+        return iterations;
+    }
+
+    private void initialize() {
+        result = new DataflowResult<>();
+        methodNodes = Maps.newMultiMap();
+        for (Node node : icfg) {
+            result.setInFact(node, analysis.newInitialFact());
+            result.setOutFact(node, analysis.newInitialFact());
+            methodNodes.put(icfg.getContainingMethodOf(node), node);
+        }
+        contexts = Maps.newTwoKeyMap();
+        overflowContexts = Maps.newMap();
+        workList = new SetQueue<>();
+        iterations = 0;
+        nContexts = 0;
+        icfg.entryMethods().forEach(method -> getContext(method,
+                analysis.newBoundaryFact(icfg.getEntryOf(method))).root = true);
+    }
+
+    private void doSolve() {
+        while (!workList.isEmpty()) {
+            Pair<Context, Node> item = workList.poll();
+            ++iterations;
+            process(item.first(), item.second());
+        }
+        logger.info("summary solver: {} iterations, {} contexts of {} methods",
+                iterations, nContexts, methodNodes.keySet().size());
+    }
+
+    private void process(Context context, Node node) {
+        Fact in = context.facts.getInFact(node);
+        Fact out = context.facts.getOutFact(node);
+        if (!node.equals(context.entry)) {
+            // the entry fact of a context is fixed when the context is
+            // created (or merged into the overflow context), thus the
+            // call edges to the entry are not traversed here
+            for (ICFGEdge<Node> inEdge : icfg.getInEdgesOf(node)) {
+                if (inEdge instanceof ReturnEdge<Node> returnEdge) {
+                    Method callee = icfg.getContainingMethodOf(returnEdge.getSource());
+                    Context calleeContext = context.callees.get(
+                            returnEdge.getCallSite(), callee);
+                    if (calleeContext != null) {
+                        analysis.meetInto(analysis.transferEdge(returnEdge,
+                                calleeContext.facts.getOutFact(calleeContext.exit)), in);
+                    }
+                } else {
+                    analysis.meetInto(analysis.transferEdge(inEdge,
+                            context.facts.getOutFact(inEdge.getSource())), in);
+                }
+            }
+        }
+        boolean changed = analysis.transferNode(node, in, out);
+        analysis.meetInto(in, result.getInFact(node));
+        analysis.meetInto(out, result.getOutFact(node));
+        if (icfg.isCallSite(node)) {
+            processCallSite(context, node, out);
+        }
+        if (changed) {
+            for (ICFGEdge<Node> outEdge : icfg.getOutEdgesOf(node)) {
+                if (!(outEdge instanceof CallEdge)) {
+                    workList.add(new Pair<>(context, outEdge.getTarget()));
+                }
+            }
+            if (node.equals(context.exit)) {
+                // the summary changed, thus the return sites of the callers
+                // need to be re-processed
+                context.callers.forEach(caller -> icfg.getReturnSitesOf(caller.second())
+                        .forEach(retSite -> workList.add(new Pair<>(caller.first(), retSite))));
+            }
+        }
+    }
+
+    private void processCallSite(Context context, Node callSite, Fact callSiteOut) {
+        boolean calleeChanged = false;
+        for (ICFGEdge<Node> outEdge : icfg.getOutEdgesOf(callSite)) {
+            if (outEdge instanceof CallEdge<Node> callEdge) {
+                Method callee = icfg.getContainingMethodOf(callEdge.getTarget());
+                Context calleeContext = getContext(callee,
+                        analysis.transferEdge(callEdge, callSiteOut));
+                Context oldContext = context.callees.put(callSite, callee, calleeContext);
+                if (oldContext != calleeContext) {
+                    if (oldContext != null) {
+                        // the call site no longer uses the old context
+                        oldContext.callers.remove(new Pair<>(context, callSite));
+                    }
+                    if (!calleeContext.isLive()) {
+                        // a stale context skipped the nodes passed to
+                        // addWorkList(), so it is analyzed again before
+                        // its summary is reused
+                        methodNodes.get(callee).forEach(node ->
+                                workList.add(new Pair<>(calleeContext, node)));
+                    }
+                    calleeContext.callers.add(new Pair<>(context, callSite));
+                    calleeChanged = true;
+                }
+            }
+        }
+        if (calleeChanged) {
+            icfg.getReturnSitesOf(callSite).forEach(retSite ->
+                    workList.add(new Pair<>(context, retSite)));
+        }
+    }
+
+    /**
+     * @return the context of method for entryFact. If method already has
+     * {@link #maxContexts} contexts and none of them matches entryFact,
+     * then entryFact is merged into the overflow context of method.
+     */
+    private Context getContext(Method method, Fact entryFact) {
+        Context context = contexts.get(method, entryFact);
+        if (context != null) {
+            return context;
+        }
+        Map<Fact, Context> methodContexts = contexts.get(method);
+        if (methodContexts == null || methodContexts.size() < maxContexts) {
+            // entryFact may be modified by the caller, so we keep a copy
+            Fact key = analysis.newInitialFact();
+            analysis.meetInto(entryFact, key);
+            context = new Context(method, key);
+            contexts.put(method, key, context);
+            return context;
+        }
+        Context overflow = overflowContexts.get(method);
+        if (overflow == null) {
+            overflow = new Context(method, entryFact);
+            overflowContexts.put(method, overflow);
+        } else {
+            Fact in = overflow.facts.getInFact(overflow.entry);
+            Fact old = analysis.newInitialFact();
+            analysis.meetInto(in, old);
+            analysis.meetInto(entryFact, in);
+            if (!old.equals(in)) {
+                workList.add(new Pair<>(overflow, overflow.entry));
+            }
+        }
+        return overflow;
+    }
+
+    @Override
+    public void addWorkList(Node node) {
+        Method method = icfg.getContainingMethodOf(node);
+        Map<Fact, Context> methodContexts = contexts.get(method);
+        if (methodContexts != null) {
+            methodContexts.values().forEach(context -> {
+                if (context.isLive()) {
+                    workList.add(new Pair<>(context, node));
+                }
+            });
+        }
+        Context overflow = overflowContexts.get(method);
+        if (overflow != null && overflow.isLive()) {
+            workList.add(new Pair<>(overflow, node));
+        }
+    }
+}
@@ -31,8 +31,12 @@ public class InterCPAliasTest {
     private static final String CLASS_PATH = "src/test/resources/dataflow/constprop/alias";
 
     void test(String inputClass) {
+        test(inputClass, "");
+    }
+
+    void test(String inputClass, String extraOptions) {
         Tests.test(inputClass, CLASS_PATH, InterConstantPropagation.ID,
-                "edge-refine:false;alias-aware:true;pta:cspta",
+                "edge-refine:false;alias-aware:true;pta:cspta" + extraOptions,
                 "-a", "cspta=cs:2-obj", "-a", "cg=algorithm:cspta"
                 //, "-a", "icfg=dump:true" // <-- uncomment this code if you want
                                            // to output ICFGs for the test cases
@@ -54,6 +58,11 @@ public class InterCPAliasTest {
         test("ArrayLoops");
     }
 
+    @Test
+    public void testArrayLoopsRPO() {
+        test("ArrayLoops", ";worklist:rpo");
+    }
+
     @Test
     public void testInstanceField() {
         test("InstanceField");
@@ -69,6 +78,36 @@ public class InterCPAliasTest {
         test("Interprocedural2");
     }
 
+    @Test
+    public void testInterprocedural2Summary() {
+        test("Interprocedural2", ";solver:summary");
+    }
+
+    @Test
+    public void testContextReuse() {
+        test("ContextReuse");
+    }
+
+    @Test
+    public void testContextReuseSummary() {
+        // the call site in main() switches get() from the context of x
+        // undefined to the context of x=1, before the store to f; then
+        // later3() reuses the stale context, which must see the store
+        test("ContextReuse", ";solver:summary");
+    }
+
+    @Test
+    public void testFibonacci() {
+        test("Fibonacci");
+    }
+
+    @Test
+    public void testFibonacciSummary() {
+        // the recursive calls exceed the bound of contexts of
+        // getFibonacci(), thus they are merged into the overflow context
+        test("Fibonacci", ";solver:summary;max-contexts:1");
+    }
+
     @Test
     public void testObjSens() {
         test("ObjSens");
@@ -0,0 +1,37 @@
+class ContextReuse {
+
+    static int f;
+
+    static int h;
+
+    public static void main(String[] args) {
+        int a = one();
+        int r1 = get(a);
+        later();
+    }
+
+    static int one() {
+        int c = 1;
+        return c;
+    }
+
+    static int get(int x) {
+        int y = f;
+        return y;
+    }
+
+    static void later() {
+        later2();
+    }
+
+    static void later2() {
+        later3();
+    }
+
+    static void later3() {
+        int v = 5;
+        f = v;
+        int b = h;
+        int r = get(b);
+    }
+}
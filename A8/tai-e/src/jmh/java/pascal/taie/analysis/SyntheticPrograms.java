@@ -0,0 +1,121 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates synthetic programs of given scales for benchmarks.
+ */
+public final class SyntheticPrograms {
+
+    /**
+     * Main class of the generated programs.
+     */
+    public static final String MAIN = "Synthetic";
+
+    private SyntheticPrograms() {
+    }
+
+    /**
+     * Generates a program for pointer analysis. The program has
+     * {@code scale} step classes, each of which passes its argument
+     * through the shared container class {@code Box}, and main method
+     * chains every two steps, so that the numbers of methods, objects,
+     * call edges and contexts grow with the scale. Half of the chains
+     * start from {@code SourceSink.source()}, and all chains end at
+     * {@code SourceSink.sink()}, which are the source and sink
+     * in the taint configuration of tests.
+     *
+     * @return the class path of the generated program.
+     */
+    public static String generatePTAProgram(int scale) throws IOException {
+        StringBuilder code = new StringBuilder();
+        code.append("class ").append(MAIN).append(" {\n\n")
+                .append("    public static void main(String[] args) {\n");
+        for (int i = 0; i < scale; ++i) {
+            String input = i % 2 == 0 ? "SourceSink.source()" : "new String()";
+            code.append(String.format("""
+                            Object x%d = new Step%d().step(%s);
+                            Object y%d = new Step%d().step(x%d);
+                            SourceSink.sink((String) y%d);
+                    """, i, i, input, i, (i + 1) % scale, i, i));
+        }
+        code.append("    }\n}\n");
+        for (int i = 0; i < scale; ++i) {
+            code.append(String.format("""
+
+                    class Step%d {
+
+                        Object step(Object o) {
+                            Box b = new Box();
+                            b.set(o);
+                            Box c = Box.wrap(b.get());
+                            return c.get();
+                        }
+                    }
+                    """, i));
+        }
+        code.append("""
+
+                class Box {
+
+                    Object f;
+
+                    void set(Object o) {
+                        f = o;
+                    }
+
+                    Object get() {
+                        return f;
+                    }
+
+                    static Box wrap(Object o) {
+                        Box b = new Box();
+                        b.set(o);
+                        return b;
+                    }
+                }
+
+                class SourceSink {
+
+                    static String source() {
+                        return new String();
+                    }
+
+                    static void sink(String s) {
+                    }
+                }
+                """);
+        return write("pta-" + scale, code);
+    }
+
+    private static String write(String name, CharSequence code) throws IOException {
+        Path dir = Path.of("build", "jmh-programs", name);
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(MAIN + ".java"), code);
+        return dir.toString();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only memory-mapped file, which may be larger than 2 GB.
+ * The file is mapped in segments, and each segment overlaps
+ * the next one by {@link #OVERLAP} bytes, so that a primitive value
+ * can always be read from a single segment.
+ */
+final class MappedFile {
+
+    private static final int SEGMENT_BITS = 30;
+
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+
+    private static final int OVERLAP = Long.BYTES;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long size;
+
+    MappedFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            segments = new MappedByteBuffer[
+                    (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; ++i) {
+                long start = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(SEGMENT_SIZE + OVERLAP, size - start));
+            }
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte getByte(long pos) {
+        return segment(pos).get(offset(pos));
+    }
+
+    int getInt(long pos) {
+        return segment(pos).getInt(offset(pos));
+    }
+
+    long getLong(long pos) {
+        return segment(pos).getLong(offset(pos));
+    }
+
+    /**
+     * @return the string of given number of bytes (in UTF-8) at pos.
+     */
+    String getString(long pos, int length) {
+        byte[] bytes = new byte[length];
+        MappedByteBuffer segment = segment(pos);
+        int offset = offset(pos);
+        if (offset + length <= segment.limit()) {
+            segment.get(offset, bytes);
+        } else {
+            for (int i = 0; i < length; ++i) {
+                bytes[i] = getByte(pos + i);
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MappedByteBuffer segment(long pos) {
+        return segments[(int) (pos >>> SEGMENT_BITS)];
+    }
+
+    private static int offset(long pos) {
+        return (int) (pos & (SEGMENT_SIZE - 1));
+    }
+}
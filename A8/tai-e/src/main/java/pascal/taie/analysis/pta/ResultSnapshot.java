@@ -0,0 +1,806 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pascal.taie.World;
+import pascal.taie.analysis.graph.callgraph.CallGraph;
+import pascal.taie.analysis.graph.callgraph.CallKind;
+import pascal.taie.analysis.graph.callgraph.DefaultCallGraph;
+import pascal.taie.analysis.graph.callgraph.Edge;
+import pascal.taie.analysis.pta.core.cs.CSCallGraph;
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.element.ArrayIndex;
+import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
+import pascal.taie.analysis.pta.core.cs.element.CSManager;
+import pascal.taie.analysis.pta.core.cs.element.CSMethod;
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.cs.element.CSVar;
+import pascal.taie.analysis.pta.core.cs.element.InstanceField;
+import pascal.taie.analysis.pta.core.cs.element.MapBasedCSManager;
+import pascal.taie.analysis.pta.core.cs.element.Pointer;
+import pascal.taie.analysis.pta.core.cs.element.StaticField;
+import pascal.taie.analysis.pta.core.heap.ConstantObj;
+import pascal.taie.analysis.pta.core.heap.MockObj;
+import pascal.taie.analysis.pta.core.heap.NewObj;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.analysis.pta.cs.PFGStatistics;
+import pascal.taie.analysis.pta.plugin.taint.TaintFlow;
+import pascal.taie.analysis.pta.pts.PointsToSet;
+import pascal.taie.ir.exp.StringLiteral;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.ir.stmt.New;
+import pascal.taie.language.classes.ClassHierarchy;
+import pascal.taie.language.classes.JField;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.language.type.Type;
+import pascal.taie.util.AnalysisException;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+import pascal.taie.util.collection.TwoKeyMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes and reads binary snapshots of {@link PointerAnalysisResult},
+ * so that later runs on the same program can reload the result instead
+ * of recomputing it.
+ * <p>
+ * A snapshot keeps both views of the result. The context-insensitive view,
+ * i.e., the points-to sets of variables, static fields and instance fields,
+ * and the call graph, is read via memory mapping: only the tables of
+ * program elements are decoded when loading, and the points-to sets are
+ * decoded on demand. The context-sensitive view, i.e., the contexts,
+ * the context-sensitive pointers with their points-to sets and the
+ * context-sensitive call graph, is decoded as a whole when it is first
+ * queried. The taint flows and PFG statistics stored in the result are
+ * kept as well, so that a loaded result can be processed in the same way
+ * as the result it was written from.
+ * <p>
+ * Methods, fields, objects, variables and contexts are given dense ids,
+ * and points-to sets are stored as arrays of ids. Program elements are
+ * identified by their signatures and indexes in the IR, and resolved in
+ * the current {@link World} when loading, thus a snapshot can only be
+ * loaded for the program it is written for. Objects allocated by
+ * {@code new} statements and string constants are restored as they are;
+ * other objects are restored as {@link MockObj}s that keep their types,
+ * container methods, descriptions and allocations (call sites or strings).
+ * The descriptions are interned, as they may be compared by reference
+ * (e.g., taint objects).
+ */
+public final class ResultSnapshot {
+
+    private static final Logger logger = LogManager.getLogger(ResultSnapshot.class);
+
+    private static final int MAGIC = 0x54414950; // "TAIP"
+
+    private static final int VERSION = 2;
+
+    // kinds of objects
+    private static final byte NEW_OBJ = 0;
+
+    private static final byte STRING_OBJ = 1;
+
+    private static final byte OTHER_OBJ = 2;
+
+    // kinds of allocations of other objects
+    private static final byte ALLOC_INVOKE = 0;
+
+    private static final byte ALLOC_STRING = 1;
+
+    // kinds of context elements
+    private static final byte CTX_OBJ = 0;
+
+    private static final byte CTX_INVOKE = 1;
+
+    private static final byte CTX_TYPE = 2;
+
+    private static final int NO_METHOD = -1;
+
+    private ResultSnapshot() {
+    }
+
+    /**
+     * Writes the snapshot of given result to path.
+     */
+    public static void write(PointerAnalysisResult result, Path path) {
+        logger.info("Writing pointer analysis snapshot to {} ...", path);
+        // 1. collect points-to sets without contexts
+        Map<JField, Set<Obj>> staticFields = Maps.newMap();
+        for (StaticField sf : result.getStaticFields()) {
+            removeContexts(sf, staticFields.computeIfAbsent(
+                    sf.getField(), f -> Sets.newHybridSet()));
+        }
+        TwoKeyMap<Obj, JField, Set<Obj>> instanceFields = Maps.newTwoKeyMap();
+        for (InstanceField ifield : result.getInstanceFields()) {
+            removeContexts(ifield, instanceFields.computeIfAbsent(
+                    ifield.getBase().getObject(), ifield.getField(),
+                    (o, f) -> Sets.newHybridSet()));
+        }
+        CallGraph<Invoke, JMethod> callGraph = result.getCallGraph();
+        CallGraph<CSCallSite, CSMethod> csCallGraph = result.getCSCallGraph();
+        String taintKey = null;
+        Set<TaintFlow> taintFlows = Set.of();
+        for (String key : result.getKeys()) {
+            if (key.contains("Taint")) { // same as ResultProcessor
+                taintKey = key;
+                taintFlows = result.getResult(key);
+            }
+        }
+        // 2. assign ids to program elements
+        Ids<JMethod> methods = new Ids<>();
+        Ids<JField> fields = new Ids<>();
+        Ids<Obj> objs = new Ids<>();
+        Ids<Context> contexts = new Ids<>();
+        Ids<CSObj> csObjs = new Ids<>();
+        List<Var> vars = new ArrayList<>(result.getVars());
+        vars.forEach(v -> methods.add(v.getMethod()));
+        result.getObjects().forEach(objs::add);
+        vars.forEach(v -> result.getPointsToSet(v).forEach(objs::add));
+        staticFields.forEach((f, pts) -> {
+            fields.add(f);
+            pts.forEach(objs::add);
+        });
+        instanceFields.forEach((base, f, pts) -> {
+            objs.add(base);
+            fields.add(f);
+            pts.forEach(objs::add);
+        });
+        callGraph.reachableMethods().forEach(methods::add);
+        result.getCSObjects().forEach(csObjs::add);
+        for (Pointer pointer : csPointers(result)) {
+            pointer.getPointsToSet().forEach(csObjs::add);
+        }
+        result.getInstanceFields().forEach(f -> csObjs.add(f.getBase()));
+        result.getArrayIndexes().forEach(a -> csObjs.add(a.getArray()));
+        csObjs.elements.forEach(o -> {
+            objs.add(o.getObject());
+            contexts.add(o.getContext());
+        });
+        result.getCSVars().forEach(v -> {
+            contexts.add(v.getContext());
+            methods.add(v.getVar().getMethod());
+        });
+        csCallGraph.reachableMethods().forEach(m -> {
+            contexts.add(m.getContext());
+            methods.add(m.getMethod());
+        });
+        csCallGraph.edges().forEach(e -> contexts.add(e.getCallSite().getContext()));
+        for (Context context : contexts.elements) {
+            for (int i = 0; i < context.getLength(); ++i) {
+                Object elem = context.getElementAt(i);
+                if (elem instanceof Obj obj) {
+                    objs.add(obj);
+                } else if (elem instanceof Invoke invoke) {
+                    methods.add(invoke.getContainer());
+                }
+            }
+        }
+        objs.elements.forEach(o -> o.getContainerMethod().ifPresent(methods::add));
+        objs.elements.forEach(o -> {
+            if (o.getAllocation() instanceof Invoke invoke) {
+                methods.add(invoke.getContainer());
+            }
+        });
+        taintFlows.forEach(flow -> {
+            methods.add(flow.sourceCall().getContainer());
+            methods.add(flow.sinkCall().getContainer());
+        });
+        // 3. write the snapshot
+        try (Output out = new Output(path)) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(methods.size());
+            methods.elements.forEach(m -> out.putString(m.getSignature()));
+            out.putInt(fields.size());
+            fields.elements.forEach(f -> out.putString(f.getSignature()));
+            out.putInt(objs.size());
+            for (Obj obj : objs.elements) {
+                writeObj(out, obj, methods);
+            }
+            out.putInt(vars.size());
+            for (Var var : vars) {
+                out.putInt(methods.get(var.getMethod()));
+                out.putInt(var.getIndex());
+            }
+            long[] varPts = new long[vars.size()];
+            for (int i = 0; i < varPts.length; ++i) {
+                varPts[i] = out.position();
+                writePointsToSet(out, result.getPointsToSet(vars.get(i)), objs);
+            }
+            long varPtsIndex = out.position();
+            for (long pos : varPts) {
+                out.putLong(pos);
+            }
+            out.putInt(staticFields.size());
+            staticFields.forEach((f, pts) -> {
+                out.putInt(fields.get(f));
+                writePointsToSet(out, pts, objs);
+            });
+            out.putInt(instanceFields.size());
+            instanceFields.forEach((base, f, pts) -> {
+                out.putInt(objs.get(base));
+                out.putInt(fields.get(f));
+                writePointsToSet(out, pts, objs);
+            });
+            List<JMethod> entries = callGraph.entryMethods().toList();
+            out.putInt(entries.size());
+            entries.forEach(m -> out.putInt(methods.get(m)));
+            List<JMethod> reachable = callGraph.reachableMethods().toList();
+            out.putInt(reachable.size());
+            reachable.forEach(m -> out.putInt(methods.get(m)));
+            List<Edge<Invoke, JMethod>> edges = callGraph.edges().toList();
+            out.putInt(edges.size());
+            for (Edge<Invoke, JMethod> edge : edges) {
+                out.putByte((byte) edge.getKind().ordinal());
+                writeInvoke(out, edge.getCallSite(), methods);
+                out.putInt(methods.get(edge.getCallee()));
+            }
+            // results stored in the result holder
+            out.putString(taintKey != null ? taintKey : "");
+            out.putInt(taintFlows.size());
+            for (TaintFlow flow : taintFlows) {
+                writeInvoke(out, flow.sourceCall(), methods);
+                writeInvoke(out, flow.sinkCall(), methods);
+                out.putInt(flow.index());
+            }
+            PFGStatistics pfg = result.getResult(PFGStatistics.KEY);
+            out.putByte((byte) (pfg != null ? 1 : 0));
+            if (pfg != null) {
+                out.putInt(pfg.nodes());
+                out.putLong(pfg.edges());
+                out.putLong(pfg.memory());
+            }
+            // context-sensitive view
+            long csPos = out.position();
+            writeCSResult(out, result, methods, fields, objs, contexts, csObjs);
+            // the trailer locates the index of points-to sets of variables
+            // and the context-sensitive view
+            out.putLong(varPtsIndex);
+            out.putLong(csPos);
+        } catch (IOException | UncheckedIOException e) {
+            throw new AnalysisException("Failed to write snapshot to " + path, e);
+        }
+    }
+
+    private static List<Pointer> csPointers(PointerAnalysisResult result) {
+        List<Pointer> pointers = new ArrayList<>(result.getCSVars());
+        pointers.addAll(result.getStaticFields());
+        pointers.addAll(result.getInstanceFields());
+        pointers.addAll(result.getArrayIndexes());
+        return pointers;
+    }
+
+    private static void writeCSResult(
+            Output out, PointerAnalysisResult result, Ids<JMethod> methods,
+            Ids<JField> fields, Ids<Obj> objs, Ids<Context> contexts, Ids<CSObj> csObjs) {
+        out.putInt(contexts.size());
+        for (Context context : contexts.elements) {
+            out.putInt(context.getLength());
+            for (int i = 0; i < context.getLength(); ++i) {
+                writeContextElement(out, context.getElementAt(i), methods, objs);
+            }
+        }
+        out.putInt(csObjs.size());
+        for (CSObj csObj : csObjs.elements) {
+            out.putInt(contexts.get(csObj.getContext()));
+            out.putInt(objs.get(csObj.getObject()));
+        }
+        Collection<CSVar> csVars = result.getCSVars();
+        out.putInt(csVars.size());
+        for (CSVar csVar : csVars) {
+            out.putInt(contexts.get(csVar.getContext()));
+            out.putInt(methods.get(csVar.getVar().getMethod()));
+            out.putInt(csVar.getVar().getIndex());
+            writePointsToSet(out, csVar.getPointsToSet(), csObjs);
+        }
+        Collection<StaticField> sfs = result.getStaticFields();
+        out.putInt(sfs.size());
+        for (StaticField sf : sfs) {
+            out.putInt(fields.get(sf.getField()));
+            writePointsToSet(out, sf.getPointsToSet(), csObjs);
+        }
+        Collection<InstanceField> ifields = result.getInstanceFields();
+        out.putInt(ifields.size());
+        for (InstanceField ifield : ifields) {
+            out.putInt(csObjs.get(ifield.getBase()));
+            out.putInt(fields.get(ifield.getField()));
+            writePointsToSet(out, ifield.getPointsToSet(), csObjs);
+        }
+        Collection<ArrayIndex> arrays = result.getArrayIndexes();
+        out.putInt(arrays.size());
+        for (ArrayIndex array : arrays) {
+            out.putInt(csObjs.get(array.getArray()));
+            writePointsToSet(out, array.getPointsToSet(), csObjs);
+        }
+        CallGraph<CSCallSite, CSMethod> csCallGraph = result.getCSCallGraph();
+        List<CSMethod> entries = csCallGraph.entryMethods().toList();
+        out.putInt(entries.size());
+        entries.forEach(m -> writeCSMethod(out, m, methods, contexts));
+        List<CSMethod> reachable = csCallGraph.reachableMethods().toList();
+        out.putInt(reachable.size());
+        reachable.forEach(m -> writeCSMethod(out, m, methods, contexts));
+        List<Edge<CSCallSite, CSMethod>> edges = csCallGraph.edges().toList();
+        out.putInt(edges.size());
+        for (Edge<CSCallSite, CSMethod> edge : edges) {
+            out.putByte((byte) edge.getKind().ordinal());
+            out.putInt(contexts.get(edge.getCallSite().getContext()));
+            writeInvoke(out, edge.getCallSite().getCallSite(), methods);
+            writeCSMethod(out, edge.getCallee(), methods, contexts);
+        }
+    }
+
+    private static void removeContexts(Pointer pointer, Set<Obj> result) {
+        pointer.getPointsToSet().forEach(o -> result.add(o.getObject()));
+    }
+
+    private static void writeObj(Output out, Obj obj, Ids<JMethod> methods) {
+        if (obj instanceof NewObj newObj) {
+            New allocSite = newObj.getAllocation();
+            out.putByte(NEW_OBJ);
+            out.putInt(methods.get(newObj.getContainerMethod().orElseThrow()));
+            out.putInt(allocSite.getIndex());
+        } else if (obj instanceof ConstantObj constObj
+                && constObj.getAllocation() instanceof StringLiteral str) {
+            out.putByte(STRING_OBJ);
+            out.putString(str.getString());
+        } else {
+            out.putByte(OTHER_OBJ);
+            out.putString(obj.getType().getName());
+            out.putInt(obj.getContainerMethod().map(methods::get).orElse(NO_METHOD));
+            out.putString(obj instanceof MockObj mockObj ?
+                    mockObj.getDescription() : obj.getClass().getSimpleName());
+            if (obj.getAllocation() instanceof Invoke invoke) {
+                out.putByte(ALLOC_INVOKE);
+                writeInvoke(out, invoke, methods);
+            } else {
+                out.putByte(ALLOC_STRING);
+                out.putString(String.valueOf(obj.getAllocation()));
+            }
+        }
+    }
+
+    private static void writeInvoke(Output out, Invoke invoke, Ids<JMethod> methods) {
+        out.putInt(methods.get(invoke.getContainer()));
+        out.putInt(invoke.getIndex());
+    }
+
+    private static void writeCSMethod(Output out, CSMethod csMethod,
+                                      Ids<JMethod> methods, Ids<Context> contexts) {
+        out.putInt(contexts.get(csMethod.getContext()));
+        out.putInt(methods.get(csMethod.getMethod()));
+    }
+
+    private static void writeContextElement(Output out, Object elem,
+                                            Ids<JMethod> methods, Ids<Obj> objs) {
+        if (elem instanceof Obj obj) {
+            out.putByte(CTX_OBJ);
+            out.putInt(objs.get(obj));
+        } else if (elem instanceof Invoke invoke) {
+            out.putByte(CTX_INVOKE);
+            writeInvoke(out, invoke, methods);
+        } else if (elem instanceof Type type) {
+            out.putByte(CTX_TYPE);
+            out.putString(type.getName());
+        } else {
+            throw new AnalysisException("Unsupported context element: " + elem);
+        }
+    }
+
+    private static void writePointsToSet(Output out, Set<Obj> pts, Ids<Obj> objs) {
+        out.putInt(pts.size());
+        pts.forEach(o -> out.putInt(objs.get(o)));
+    }
+
+    private static void writePointsToSet(Output out, PointsToSet pts, Ids<CSObj> csObjs) {
+        out.putInt(pts.size());
+        pts.forEach(o -> out.putInt(csObjs.get(o)));
+    }
+
+    /**
+     * Reads the snapshot at path. The program elements in the snapshot
+     * are resolved in the current {@link World}.
+     *
+     * @return the pointer analysis result in the snapshot.
+     */
+    public static PointerAnalysisResult read(Path path) {
+        logger.info("Reading pointer analysis snapshot from {} ...", path);
+        MappedFile file;
+        try {
+            file = new MappedFile(path);
+        } catch (IOException e) {
+            throw new AnalysisException("Failed to read snapshot from " + path, e);
+        }
+        Input in = new Input(file, 0);
+        if (file.size() < 2 * Integer.BYTES + 2 * Long.BYTES
+                || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new AnalysisException(path + " is not a pointer analysis snapshot" +
+                    " of version " + VERSION);
+        }
+        ClassHierarchy hierarchy = World.get().getClassHierarchy();
+        JMethod[] methods = new JMethod[in.getInt()];
+        for (int i = 0; i < methods.length; ++i) {
+            String signature = in.getString();
+            methods[i] = resolve(hierarchy.getMethod(signature), "method", signature);
+        }
+        JField[] fields = new JField[in.getInt()];
+        for (int i = 0; i < fields.length; ++i) {
+            String signature = in.getString();
+            fields[i] = resolve(hierarchy.getField(signature), "field", signature);
+        }
+        Obj[] objs = new Obj[in.getInt()];
+        for (int i = 0; i < objs.length; ++i) {
+            objs[i] = readObj(in, methods);
+        }
+        Var[] vars = new Var[in.getInt()];
+        for (int i = 0; i < vars.length; ++i) {
+            vars[i] = readVar(in, methods);
+        }
+        // skips the points-to sets of variables, which are decoded on demand
+        long varPtsIndex = file.getLong(file.size() - 2 * Long.BYTES);
+        long csPos = file.getLong(file.size() - Long.BYTES);
+        in = new Input(file, varPtsIndex + (long) vars.length * Long.BYTES);
+        Map<JField, Long> staticFields = Maps.newMap();
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            staticFields.put(fields[in.getInt()], in.position());
+            in.skipPointsToSet();
+        }
+        TwoKeyMap<Obj, JField, Long> instanceFields = Maps.newTwoKeyMap();
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            Obj base = objs[in.getInt()];
+            instanceFields.put(base, fields[in.getInt()], in.position());
+            in.skipPointsToSet();
+        }
+        DefaultCallGraph callGraph = new DefaultCallGraph();
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            callGraph.addEntryMethod(methods[in.getInt()]);
+        }
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            callGraph.addReachableMethod(methods[in.getInt()]);
+        }
+        CallKind[] kinds = CallKind.values();
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            CallKind kind = kinds[in.getByte()];
+            Invoke invoke = readInvoke(in, methods);
+            callGraph.addEdge(new Edge<>(kind, invoke, methods[in.getInt()]));
+        }
+        SnapshotResult result = new SnapshotResult(file, vars, objs, varPtsIndex,
+                staticFields, instanceFields, callGraph,
+                () -> readCSResult(file, csPos, methods, fields, objs, vars));
+        String taintKey = in.getString();
+        Set<TaintFlow> taintFlows = new TreeSet<>();
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            Invoke source = readInvoke(in, methods);
+            Invoke sink = readInvoke(in, methods);
+            taintFlows.add(new TaintFlow(source, sink, in.getInt()));
+        }
+        if (!taintKey.isEmpty()) {
+            result.storeResult(taintKey, taintFlows);
+        }
+        if (in.getByte() != 0) {
+            result.storeResult(PFGStatistics.KEY, new PFGStatistics(
+                    in.getInt(), in.getLong(), in.getLong()));
+        }
+        logger.info("Read {} variables and {} objects from snapshot",
+                vars.length, objs.length);
+        return result;
+    }
+
+    /**
+     * Decodes the context-sensitive view of a snapshot. The contexts are
+     * restored as {@link ListContext}s, which have the same string
+     * representation as the contexts of the solver.
+     */
+    private static PointerAnalysisResult readCSResult(
+            MappedFile file, long pos, JMethod[] methods,
+            JField[] fields, Obj[] objs, Var[] vars) {
+        Input in = new Input(file, pos);
+        Context[] contexts = new Context[in.getInt()];
+        for (int i = 0; i < contexts.length; ++i) {
+            Object[] elems = new Object[in.getInt()];
+            for (int j = 0; j < elems.length; ++j) {
+                elems[j] = readContextElement(in, methods, objs);
+            }
+            contexts[i] = ListContext.make(elems);
+        }
+        CSManager csManager = new MapBasedCSManager();
+        CSObj[] csObjs = new CSObj[in.getInt()];
+        for (int i = 0; i < csObjs.length; ++i) {
+            Context context = contexts[in.getInt()];
+            csObjs[i] = csManager.getCSObj(context, objs[in.getInt()]);
+        }
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            Context context = contexts[in.getInt()];
+            readPointsToSet(in, csManager.getCSVar(context, readVar(in, methods)), csObjs);
+        }
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            readPointsToSet(in, csManager.getStaticField(fields[in.getInt()]), csObjs);
+        }
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            CSObj base = csObjs[in.getInt()];
+            readPointsToSet(in, csManager.getInstanceField(
+                    base, fields[in.getInt()]), csObjs);
+        }
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            readPointsToSet(in, csManager.getArrayIndex(csObjs[in.getInt()]), csObjs);
+        }
+        CSCallGraph csCallGraph = new CSCallGraph(csManager);
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            csCallGraph.addEntryMethod(readCSMethod(in, csManager, contexts, methods));
+        }
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            csCallGraph.addReachableMethod(readCSMethod(in, csManager, contexts, methods));
+        }
+        CallKind[] kinds = CallKind.values();
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            CallKind kind = kinds[in.getByte()];
+            Context context = contexts[in.getInt()];
+            CSCallSite csCallSite = csManager.getCSCallSite(
+                    context, readInvoke(in, methods));
+            csCallGraph.addEdge(new Edge<>(kind, csCallSite,
+                    readCSMethod(in, csManager, contexts, methods)));
+        }
+        return new PointerAnalysisResultImpl(csManager, csCallGraph);
+    }
+
+    private static <T> T resolve(T element, String kind, String signature) {
+        if (element == null) {
+            throw new AnalysisException("Snapshot does not match the program: " +
+                    kind + " " + signature + " is not found");
+        }
+        return element;
+    }
+
+    private static Obj readObj(Input in, JMethod[] methods) {
+        switch (in.getByte()) {
+            case NEW_OBJ -> {
+                JMethod method = methods[in.getInt()];
+                return new NewObj((New) method.getIR().getStmt(in.getInt()));
+            }
+            case STRING_OBJ -> {
+                return new ConstantObj(StringLiteral.get(in.getString()));
+            }
+            case OTHER_OBJ -> {
+                Type type = World.get().getTypeSystem().getType(in.getString());
+                int method = in.getInt();
+                // interns the description, so that it is identical to
+                // the constant used by the creator of the object
+                String desc = in.getString().intern();
+                Object alloc = in.getByte() == ALLOC_INVOKE ?
+                        readInvoke(in, methods) : in.getString();
+                return method == NO_METHOD ?
+                        new MockObj(desc, alloc, type) :
+                        new MockObj(desc, alloc, type, methods[method]);
+            }
+            default -> throw new AnalysisException("Corrupted snapshot: unknown object kind");
+        }
+    }
+
+    private static Var readVar(Input in, JMethod[] methods) {
+        JMethod method = methods[in.getInt()];
+        return method.getIR().getVar(in.getInt());
+    }
+
+    private static Invoke readInvoke(Input in, JMethod[] methods) {
+        JMethod method = methods[in.getInt()];
+        return (Invoke) method.getIR().getStmt(in.getInt());
+    }
+
+    private static CSMethod readCSMethod(Input in, CSManager csManager,
+                                         Context[] contexts, JMethod[] methods) {
+        Context context = contexts[in.getInt()];
+        return csManager.getCSMethod(context, methods[in.getInt()]);
+    }
+
+    private static Object readContextElement(Input in, JMethod[] methods, Obj[] objs) {
+        return switch (in.getByte()) {
+            case CTX_OBJ -> objs[in.getInt()];
+            case CTX_INVOKE -> readInvoke(in, methods);
+            case CTX_TYPE -> World.get().getTypeSystem().getType(in.getString());
+            default -> throw new AnalysisException(
+                    "Corrupted snapshot: unknown context element kind");
+        };
+    }
+
+    private static void readPointsToSet(Input in, Pointer pointer, CSObj[] csObjs) {
+        PointsToSet pts = pointer.getPointsToSet();
+        for (int n = in.getInt(), i = 0; i < n; ++i) {
+            pts.addObject(csObjs[in.getInt()]);
+        }
+    }
+
+    /**
+     * Buffered writer of snapshot files.
+     * The writing methods wrap {@link IOException}s in
+     * {@link UncheckedIOException}s, so that they can be called in lambdas.
+     */
+    private static class Output implements AutoCloseable {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        /**
+         * Number of bytes that have been written to the channel.
+         */
+        private long flushed;
+
+        private Output(Path path) throws IOException {
+            Path dir = path.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private long position() {
+            return flushed + buffer.position();
+        }
+
+        private void putByte(byte b) {
+            ensure(Byte.BYTES);
+            buffer.put(b);
+        }
+
+        private void putInt(int i) {
+            ensure(Integer.BYTES);
+            buffer.putInt(i);
+        }
+
+        private void putLong(long l) {
+            ensure(Long.BYTES);
+            buffer.putLong(l);
+        }
+
+        private void putString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            ensure(bytes.length);
+            if (bytes.length <= buffer.remaining()) {
+                buffer.put(bytes);
+            } else { // larger than the buffer
+                write(ByteBuffer.wrap(bytes));
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+
+        private void write(ByteBuffer src) {
+            try {
+                while (src.hasRemaining()) {
+                    flushed += channel.write(src);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Sequential reader of snapshot files.
+     */
+    private static class Input {
+
+        private final MappedFile file;
+
+        private long pos;
+
+        private Input(MappedFile file, long pos) {
+            this.file = file;
+            this.pos = pos;
+        }
+
+        private long position() {
+            return pos;
+        }
+
+        private byte getByte() {
+            return file.getByte(pos++);
+        }
+
+        private int getInt() {
+            int i = file.getInt(pos);
+            pos += Integer.BYTES;
+            return i;
+        }
+
+        private long getLong() {
+            long l = file.getLong(pos);
+            pos += Long.BYTES;
+            return l;
+        }
+
+        private String getString() {
+            int length = getInt();
+            String s = file.getString(pos, length);
+            pos += length;
+            return s;
+        }
+
+        private void skipPointsToSet() {
+            int size = getInt();
+            pos += (long) size * Integer.BYTES;
+        }
+    }
+
+    /**
+     * Assigns dense ids to elements in the order they are added.
+     */
+    private static class Ids<T> {
+
+        private final Map<T, Integer> ids = Maps.newMap();
+
+        private final List<T> elements = new ArrayList<>();
+
+        private void add(T element) {
+            ids.computeIfAbsent(element, e -> {
+                elements.add(e);
+                return elements.size() - 1;
+            });
+        }
+
+        private int get(T element) {
+            return ids.get(element);
+        }
+
+        private int size() {
+            return elements.size();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta;
+
+import pascal.taie.analysis.graph.callgraph.CallGraph;
+import pascal.taie.analysis.pta.core.cs.element.ArrayIndex;
+import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
+import pascal.taie.analysis.pta.core.cs.element.CSMethod;
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.cs.element.CSVar;
+import pascal.taie.analysis.pta.core.cs.element.InstanceField;
+import pascal.taie.analysis.pta.core.cs.element.StaticField;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JField;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.util.AbstractResultHolder;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+import pascal.taie.util.collection.TwoKeyMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pointer analysis result read from a snapshot by {@link ResultSnapshot}.
+ * The points-to sets of the context-insensitive view are decoded from
+ * the mapped snapshot on demand, and the context-sensitive view is decoded
+ * as a whole when any of its APIs is first called.
+ */
+class SnapshotResult extends AbstractResultHolder
+        implements PointerAnalysisResult {
+
+    private final MappedFile file;
+
+    private final List<Var> vars;
+
+    private final Map<Var, Integer> varIds;
+
+    private final Obj[] objs;
+
+    /**
+     * Position of the index of points-to sets of variables in the file.
+     */
+    private final long varPtsIndex;
+
+    /**
+     * Points-to sets of variables that have been decoded.
+     */
+    private final Set<Obj>[] varPts;
+
+    /**
+     * Positions of points-to sets of static fields in the file.
+     */
+    private final Map<JField, Long> staticFields;
+
+    /**
+     * Positions of points-to sets of instance fields in the file.
+     */
+    private final TwoKeyMap<Obj, JField, Long> instanceFields;
+
+    private final CallGraph<Invoke, JMethod> callGraph;
+
+    /**
+     * Decoder of the context-sensitive view.
+     */
+    private final Supplier<PointerAnalysisResult> csResultDecoder;
+
+    /**
+     * The context-sensitive view, decoded lazily.
+     */
+    private PointerAnalysisResult csResult;
+
+    @SuppressWarnings("unchecked")
+    SnapshotResult(MappedFile file, Var[] vars, Obj[] objs, long varPtsIndex,
+                   Map<JField, Long> staticFields,
+                   TwoKeyMap<Obj, JField, Long> instanceFields,
+                   CallGraph<Invoke, JMethod> callGraph,
+                   Supplier<PointerAnalysisResult> csResultDecoder) {
+        this.file = file;
+        this.vars = List.of(vars);
+        this.varIds = Maps.newMap(vars.length);
+        for (int i = 0; i < vars.length; ++i) {
+            varIds.put(vars[i], i);
+        }
+        this.objs = objs;
+        this.varPtsIndex = varPtsIndex;
+        this.varPts = (Set<Obj>[]) new Set<?>[vars.length];
+        this.staticFields = staticFields;
+        this.instanceFields = instanceFields;
+        this.callGraph = callGraph;
+        this.csResultDecoder = csResultDecoder;
+    }
+
+    @Override
+    public Collection<Var> getVars() {
+        return vars;
+    }
+
+    @Override
+    public Collection<Obj> getObjects() {
+        return Collections.unmodifiableList(Arrays.asList(objs));
+    }
+
+    @Override
+    public Set<Obj> getPointsToSet(Var var) {
+        Integer id = varIds.get(var);
+        if (id == null) {
+            return Set.of();
+        }
+        Set<Obj> pts = varPts[id];
+        if (pts == null) {
+            pts = varPts[id] = decode(
+                    file.getLong(varPtsIndex + (long) id * Long.BYTES));
+        }
+        return pts;
+    }
+
+    @Override
+    public Set<Obj> getPointsToSet(Var base, JField field) {
+        Set<Obj> pts = Sets.newHybridSet();
+        for (Obj obj : getPointsToSet(base)) {
+            Long pos = instanceFields.get(obj, field);
+            if (pos != null) {
+                pts.addAll(decode(pos));
+            }
+        }
+        return Collections.unmodifiableSet(pts);
+    }
+
+    @Override
+    public Set<Obj> getPointsToSet(JField field) {
+        Long pos = staticFields.get(field);
+        return pos != null ? decode(pos) : Set.of();
+    }
+
+    @Override
+    public CallGraph<Invoke, JMethod> getCallGraph() {
+        return callGraph;
+    }
+
+    /**
+     * @return the points-to set at given position of the file.
+     */
+    private Set<Obj> decode(long pos) {
+        int size = file.getInt(pos);
+        Set<Obj> pts = Sets.newHybridSet();
+        for (int i = 0; i < size; ++i) {
+            pts.add(objs[file.getInt(pos + (long) (i + 1) * Integer.BYTES)]);
+        }
+        return Collections.unmodifiableSet(pts);
+    }
+
+    private PointerAnalysisResult getCSResult() {
+        if (csResult == null) {
+            csResult = csResultDecoder.get();
+        }
+        return csResult;
+    }
+
+    @Override
+    public Collection<CSVar> getCSVars() {
+        return getCSResult().getCSVars();
+    }
+
+    @Override
+    public Collection<InstanceField> getInstanceFields() {
+        return getCSResult().getInstanceFields();
+    }
+
+    @Override
+    public Collection<ArrayIndex> getArrayIndexes() {
+        return getCSResult().getArrayIndexes();
+    }
+
+    @Override
+    public Collection<StaticField> getStaticFields() {
+        return getCSResult().getStaticFields();
+    }
+
+    @Override
+    public Collection<CSObj> getCSObjects() {
+        return getCSResult().getCSObjects();
+    }
+
+    @Override
+    public Set<CSObj> getPointsToSet(CSVar var) {
+        return getCSResult().getPointsToSet(var);
+    }
+
+    @Override
+    public CallGraph<CSCallSite, CSMethod> getCSCallGraph() {
+        return getCSResult().getCSCallGraph();
+    }
+}
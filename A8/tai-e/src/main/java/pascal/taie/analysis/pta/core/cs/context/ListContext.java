@@ -98,4 +98,33 @@ public class ListContext<T> implements Context {
     public String toString() {
         return elements.toString();
     }
+
+    /**
+     * Makes list-based contexts. Each call makes a new context object.
+     *
+     * @param <T> type of context elements
+     */
+    public static class Factory<T> implements ContextFactory<T> {
+
+        @Override
+        public Context getEmptyContext() {
+            return ListContext.make();
+        }
+
+        @Override
+        public Context make(T elem) {
+            return ListContext.make(elem);
+        }
+
+        @Override
+        public Context append(Context parent, T elem, int limit) {
+            int keep = Math.min(parent.getLength(), limit - 1);
+            Object[] elements = new Object[keep + 1];
+            for (int i = 0; i < keep; ++i) {
+                elements[i] = parent.getElementAt(parent.getLength() - keep + i);
+            }
+            elements[keep] = elem;
+            return ListContext.make(elements);
+        }
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.core.cs.context;
+
+import pascal.taie.util.AnalysisException;
+import pascal.taie.util.Indexable;
+import pascal.taie.util.collection.Maps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interned contexts. The contexts made by the same {@link Factory}
+ * are organized as a trie, where each context is a node that
+ * is identified by its parent context and its last element.
+ * Each distinct context has a unique instance, thus two contexts are
+ * equal if and only if they are the same object.
+ *
+ * @param <T> type of context elements
+ */
+public class TrieContext<T> implements Context, Indexable {
+
+    private final TrieContext<T> parent;
+
+    private final T elem;
+
+    private final int length;
+
+    /**
+     * Unique index of this context in its factory.
+     */
+    private final int index;
+
+    /**
+     * Map from a context element to the context
+     * that appends the element to this context.
+     */
+    private Map<T, TrieContext<T>> children;
+
+    private TrieContext(TrieContext<T> parent, T elem, int index) {
+        this.parent = parent;
+        this.elem = elem;
+        this.length = parent == null ? 0 : parent.length + 1;
+        this.index = index;
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public Object getElementAt(int i) {
+        if (i >= length) {
+            throw new AnalysisException(
+                    "Context " + this + " doesn't have " + i + "-th element");
+        }
+        TrieContext<T> c = this;
+        for (int j = length - 1; j > i; --j) {
+            c = c.parent;
+        }
+        return c.elem;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        List<T> elems = new ArrayList<>(length);
+        for (TrieContext<T> c = this; c.parent != null; c = c.parent) {
+            elems.add(c.elem);
+        }
+        Collections.reverse(elems);
+        return elems.toString();
+    }
+
+    /**
+     * Makes interned contexts. Different factories have different tries,
+     * so the contexts made by different factories should not be mixed.
+     *
+     * @param <T> type of context elements
+     */
+    public static class Factory<T> implements ContextFactory<T> {
+
+        private final TrieContext<T> root = new TrieContext<>(null, null, 0);
+
+        private int contextCount = 1;
+
+        @Override
+        public Context getEmptyContext() {
+            return root;
+        }
+
+        @Override
+        public Context make(T elem) {
+            return getChild(root, elem);
+        }
+
+        @Override
+        public Context append(Context parent, T elem, int limit) {
+            // the contexts passed in are made by this factory
+            @SuppressWarnings("unchecked")
+            TrieContext<T> trieParent = (TrieContext<T>) parent;
+            if (trieParent.length >= limit) {
+                // re-walks the trie from the root by the last
+                // (limit - 1) elements of parent
+                trieParent = truncate(trieParent, limit - 1);
+            }
+            return getChild(trieParent, elem);
+        }
+
+        /**
+         * @return the number of distinct contexts (including the empty
+         * context) made by this factory.
+         */
+        public int getContextCount() {
+            return contextCount;
+        }
+
+        private TrieContext<T> truncate(TrieContext<T> context, int length) {
+            if (length == 0) {
+                return root;
+            }
+            TrieContext<T> prefix = truncate(context.parent, length - 1);
+            return getChild(prefix, context.elem);
+        }
+
+        private TrieContext<T> getChild(TrieContext<T> parent, T elem) {
+            if (parent.children == null) {
+                parent.children = Maps.newHybridMap();
+            }
+            TrieContext<T> child = parent.children.get(elem);
+            if (child == null) {
+                child = new TrieContext<>(parent, elem, contextCount++);
+                parent.children.put(elem, child);
+            }
+            return child;
+        }
+    }
+}
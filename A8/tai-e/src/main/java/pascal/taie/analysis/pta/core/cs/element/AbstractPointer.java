@@ -28,6 +28,8 @@ abstract class AbstractPointer implements Pointer {
 
     private PointsToSet pointsToSet;
 
+    private int index = -1;
+
     @Override
     public PointsToSet getPointsToSet() {
         return pointsToSet;
@@ -38,4 +40,17 @@ abstract class AbstractPointer implements Pointer {
         this.pointsToSet = pointsToSet;
     }
 
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public void setIndex(int index) {
+        if (this.index != -1) {
+            throw new IllegalStateException(this + " has already been indexed");
+        }
+        this.index = index;
+    }
+
 }
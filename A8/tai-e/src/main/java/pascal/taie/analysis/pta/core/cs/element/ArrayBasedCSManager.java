@@ -0,0 +1,445 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.core.cs.element;
+
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.analysis.pta.pts.PointsToSetFactory;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JField;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.TwoKeyMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manages context-sensitive elements by dense integer indexes.
+ * Contexts, methods and objects are assigned dense ids on first use,
+ * which are local to this manager, and each variable (resp. call site) is
+ * assigned a global id by adding its index in the containing method to the
+ * base id of the method.
+ * The context-sensitive elements of a variable, call site, method or object
+ * are stored in a {@link ContextMap} at its id, which is an open-addressing
+ * map from context ids, so that the lookups do not hash (or box) the
+ * element and context pair.
+ */
+public class ArrayBasedCSManager implements CSManager {
+
+    private final Indexer<Context> contextIndexer = new Indexer<>();
+
+    private final Indexer<JMethod> methodIndexer = new Indexer<>();
+
+    private final Indexer<Obj> objIndexer = new Indexer<>();
+
+    /**
+     * Base ids of variables in each method (indexed by method id),
+     * -1 if the variables of the method have not been indexed.
+     */
+    private int[] varBases = new int[0];
+
+    private int varCount = 0;
+
+    /**
+     * Base ids of statements in each method (indexed by method id),
+     * -1 if the statements of the method have not been indexed.
+     */
+    private int[] stmtBases = new int[0];
+
+    private int stmtCount = 0;
+
+    private ContextMap<CSVar>[] vars = newTable(0);
+
+    private ContextMap<CSCallSite>[] callSites = newTable(0);
+
+    private ContextMap<CSMethod>[] methods = newTable(0);
+
+    private ContextMap<CSObj>[] objs = newTable(0);
+
+    private final List<Var> varList = new ArrayList<>();
+
+    private final List<CSVar> csVarList = new ArrayList<>();
+
+    private final List<CSObj> csObjList = new ArrayList<>();
+
+    private final Map<JField, StaticField> staticFields = Maps.newMap();
+
+    private final TwoKeyMap<CSObj, JField, InstanceField> instanceFields =
+            Maps.newTwoKeyMap();
+
+    private final Map<CSObj, ArrayIndex> arrayIndexes = Maps.newMap();
+
+    @Override
+    public CSVar getCSVar(Context context, Var var) {
+        int methodId = methodIndexer.getIndex(var.getMethod());
+        int id = getVarBase(methodId, var.getMethod()) + var.getIndex();
+        ContextMap<CSVar> csVars = vars[id];
+        if (csVars == null) {
+            csVars = vars[id] = new ContextMap<>();
+            varList.add(var);
+        }
+        int ctxId = contextIndexer.getIndex(context);
+        CSVar csVar = csVars.get(ctxId);
+        if (csVar == null) {
+            csVar = initializePointsToSet(new CSVar(var, context));
+            csVars.put(ctxId, csVar);
+            csVarList.add(csVar);
+        }
+        return csVar;
+    }
+
+    @Override
+    public CSObj getCSObj(Context heapContext, Obj obj) {
+        int id = objIndexer.getIndex(obj);
+        if (id >= objs.length) {
+            objs = grow(objs, id);
+        }
+        ContextMap<CSObj> csObjs = objs[id];
+        if (csObjs == null) {
+            csObjs = objs[id] = new ContextMap<>();
+        }
+        int ctxId = contextIndexer.getIndex(heapContext);
+        CSObj csObj = csObjs.get(ctxId);
+        if (csObj == null) {
+            csObj = new CSObj(obj, heapContext);
+            csObjs.put(ctxId, csObj);
+            csObjList.add(csObj);
+        }
+        return csObj;
+    }
+
+    @Override
+    public CSCallSite getCSCallSite(Context context, Invoke callSite) {
+        JMethod container = callSite.getContainer();
+        int methodId = methodIndexer.getIndex(container);
+        int id = getStmtBase(methodId, container) + callSite.getIndex();
+        ContextMap<CSCallSite> csCallSites = callSites[id];
+        if (csCallSites == null) {
+            csCallSites = callSites[id] = new ContextMap<>();
+        }
+        int ctxId = contextIndexer.getIndex(context);
+        CSCallSite csCallSite = csCallSites.get(ctxId);
+        if (csCallSite == null) {
+            csCallSite = new CSCallSite(callSite, context);
+            csCallSites.put(ctxId, csCallSite);
+        }
+        return csCallSite;
+    }
+
+    @Override
+    public CSMethod getCSMethod(Context context, JMethod method) {
+        int id = methodIndexer.getIndex(method);
+        if (id >= methods.length) {
+            methods = grow(methods, id);
+        }
+        ContextMap<CSMethod> csMethods = methods[id];
+        if (csMethods == null) {
+            csMethods = methods[id] = new ContextMap<>();
+        }
+        int ctxId = contextIndexer.getIndex(context);
+        CSMethod csMethod = csMethods.get(ctxId);
+        if (csMethod == null) {
+            csMethod = new CSMethod(method, context);
+            csMethods.put(ctxId, csMethod);
+        }
+        return csMethod;
+    }
+
+    @Override
+    public StaticField getStaticField(JField field) {
+        return staticFields.computeIfAbsent(field,
+                f -> initializePointsToSet(new StaticField(f)));
+    }
+
+    @Override
+    public InstanceField getInstanceField(CSObj base, JField field) {
+        return instanceFields.computeIfAbsent(base, field,
+                (b, f) -> initializePointsToSet(new InstanceField(b, f)));
+    }
+
+    @Override
+    public ArrayIndex getArrayIndex(CSObj array) {
+        return arrayIndexes.computeIfAbsent(array,
+                a -> initializePointsToSet(new ArrayIndex(a)));
+    }
+
+    @Override
+    public Collection<Var> getVars() {
+        return Collections.unmodifiableList(varList);
+    }
+
+    @Override
+    public Collection<CSVar> getCSVarsOf(Var var) {
+        int methodId = methodIndexer.findIndex(var.getMethod());
+        if (methodId == -1 || methodId >= varBases.length
+                || varBases[methodId] == -1) {
+            return List.of();
+        }
+        ContextMap<CSVar> csVars = vars[varBases[methodId] + var.getIndex()];
+        return csVars == null ? List.of() : csVars.values();
+    }
+
+    @Override
+    public Collection<CSVar> getCSVars() {
+        return Collections.unmodifiableList(csVarList);
+    }
+
+    @Override
+    public Collection<CSObj> getObjects() {
+        return Collections.unmodifiableList(csObjList);
+    }
+
+    @Override
+    public Collection<StaticField> getStaticFields() {
+        return Collections.unmodifiableCollection(staticFields.values());
+    }
+
+    @Override
+    public Collection<InstanceField> getInstanceFields() {
+        return instanceFields.values();
+    }
+
+    @Override
+    public Collection<ArrayIndex> getArrayIndexes() {
+        return Collections.unmodifiableCollection(arrayIndexes.values());
+    }
+
+    private int getVarBase(int methodId, JMethod method) {
+        if (methodId >= varBases.length) {
+            varBases = grow(varBases, methodId);
+        }
+        int base = varBases[methodId];
+        if (base == -1) {
+            base = varBases[methodId] = varCount;
+            varCount += method.getIR().getVars().size();
+            if (varCount > vars.length) {
+                vars = grow(vars, varCount - 1);
+            }
+        }
+        return base;
+    }
+
+    private int getStmtBase(int methodId, JMethod method) {
+        if (methodId >= stmtBases.length) {
+            stmtBases = grow(stmtBases, methodId);
+        }
+        int base = stmtBases[methodId];
+        if (base == -1) {
+            base = stmtBases[methodId] = stmtCount;
+            stmtCount += method.getIR().getStmts().size();
+            if (stmtCount > callSites.length) {
+                callSites = grow(callSites, stmtCount - 1);
+            }
+        }
+        return base;
+    }
+
+    private static <P extends Pointer> P initializePointsToSet(P pointer) {
+        pointer.setPointsToSet(PointsToSetFactory.make());
+        return pointer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> ContextMap<E>[] newTable(int length) {
+        return (ContextMap<E>[]) new ContextMap<?>[length];
+    }
+
+    /**
+     * @return a copy of given table which is large enough to hold index i.
+     */
+    private static <E> ContextMap<E>[] grow(ContextMap<E>[] table, int i) {
+        return Arrays.copyOf(table, Math.max(i + 1, table.length * 2));
+    }
+
+    /**
+     * @return a copy of given array which is large enough to hold index i,
+     * where the new slots are filled by -1.
+     */
+    private static int[] grow(int[] array, int i) {
+        int oldLength = array.length;
+        int[] newArray = Arrays.copyOf(array, Math.max(i + 1, oldLength * 2));
+        Arrays.fill(newArray, oldLength, newArray.length, -1);
+        return newArray;
+    }
+
+    /**
+     * Assigns dense ids to elements. The ids are kept in an open-addressing
+     * table, so that the lookups do not box them. The last queried element
+     * is cached, as the consecutive queries (e.g., from the statements of
+     * the same method) often ask for the same element.
+     */
+    private static class Indexer<T> {
+
+        private Object[] elems = new Object[16];
+
+        private int[] indexes = new int[16];
+
+        private int size = 0;
+
+        private T lastElem;
+
+        private int lastIndex;
+
+        int getIndex(T elem) {
+            if (elem == lastElem) {
+                return lastIndex;
+            }
+            int mask = elems.length - 1;
+            int i = hash(elem) & mask;
+            for (; elems[i] != null; i = (i + 1) & mask) {
+                if (elems[i].equals(elem)) {
+                    return cache(elem, indexes[i]);
+                }
+            }
+            int index = size++;
+            elems[i] = elem;
+            indexes[i] = index;
+            if (size * 2 > elems.length) {
+                rehash(elems.length * 2);
+            }
+            return cache(elem, index);
+        }
+
+        /**
+         * @return the id of given element, or -1 if it has no id yet.
+         */
+        int findIndex(T elem) {
+            int mask = elems.length - 1;
+            for (int i = hash(elem) & mask; elems[i] != null; i = (i + 1) & mask) {
+                if (elems[i].equals(elem)) {
+                    return indexes[i];
+                }
+            }
+            return -1;
+        }
+
+        private int cache(T elem, int index) {
+            lastElem = elem;
+            lastIndex = index;
+            return index;
+        }
+
+        private void rehash(int capacity) {
+            Object[] oldElems = elems;
+            int[] oldIndexes = indexes;
+            elems = new Object[capacity];
+            indexes = new int[capacity];
+            int mask = capacity - 1;
+            for (int j = 0; j < oldElems.length; ++j) {
+                if (oldElems[j] != null) {
+                    int i = hash(oldElems[j]) & mask;
+                    while (elems[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    elems[i] = oldElems[j];
+                    indexes[i] = oldIndexes[j];
+                }
+            }
+        }
+
+        private static int hash(Object elem) {
+            int h = elem.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Open-addressing map from context ids to context-sensitive elements.
+     * Most elements have only a few contexts, so the map starts small.
+     */
+    private static class ContextMap<E> {
+
+        /**
+         * Context id + 1 of each slot, and 0 for empty slots.
+         */
+        private int[] keys = new int[2];
+
+        private Object[] values = new Object[2];
+
+        private int size = 0;
+
+        @SuppressWarnings("unchecked")
+        E get(int ctxId) {
+            int key = ctxId + 1;
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return (E) values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(int ctxId, E elem) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            insert(ctxId + 1, elem);
+            ++size;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<E> values() {
+            List<E> result = new ArrayList<>(size);
+            for (int i = 0; i < keys.length; ++i) {
+                if (keys[i] != 0) {
+                    result.add((E) values[i]);
+                }
+            }
+            return result;
+        }
+
+        private void insert(int key, Object elem) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = elem;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new int[capacity];
+            values = new Object[capacity];
+            for (int i = 0; i < oldKeys.length; ++i) {
+                if (oldKeys[i] != 0) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
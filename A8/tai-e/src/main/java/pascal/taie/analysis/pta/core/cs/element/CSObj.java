@@ -24,14 +24,20 @@ package pascal.taie.analysis.pta.core.cs.element;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
 import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.util.Indexable;
 
 /**
  * Represents context-sensitive objects.
  */
-public class CSObj extends AbstractCSElement {
+public class CSObj extends AbstractCSElement implements Indexable {
 
     private final Obj obj;
 
+    /**
+     * Dense index of this object, or -1 if it has not been indexed.
+     */
+    private int index = -1;
+
     CSObj(Obj obj, Context context) {
         super(context);
         this.obj = obj;
@@ -44,6 +50,26 @@ public class CSObj extends AbstractCSElement {
         return obj;
     }
 
+    /**
+     * @return the dense index of this object, or -1 if this object
+     * has not been indexed yet.
+     */
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the dense index of this object. The index of each object
+     * can be set only once.
+     */
+    public void setIndex(int index) {
+        if (this.index != -1) {
+            throw new IllegalStateException(this + " has already been indexed");
+        }
+        this.index = index;
+    }
+
     @Override
     public String toString() {
         return context + ":" + obj;
@@ -24,12 +24,13 @@ package pascal.taie.analysis.pta.core.cs.element;
 
 import pascal.taie.analysis.pta.pts.PointsToSet;
 import pascal.taie.language.type.Type;
+import pascal.taie.util.Indexable;
 
 /**
  * Represents all pointers (nodes) in context-sensitive
  * pointer analysis (pointer flow graph).
  */
-public interface Pointer {
+public interface Pointer extends Indexable {
 
     /**
      * @return the points-to set associated with the pointer.
@@ -45,4 +46,17 @@ public interface Pointer {
      * @return the type of this pointer
      */
     Type getType();
+
+    /**
+     * @return the dense index of this pointer, or -1 if this pointer
+     * has not been indexed yet.
+     */
+    @Override
+    int getIndex();
+
+    /**
+     * Sets the dense index of this pointer. The index of each pointer
+     * can be set only once.
+     */
+    void setIndex(int index);
 }
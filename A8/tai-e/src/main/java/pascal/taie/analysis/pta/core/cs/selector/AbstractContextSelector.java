@@ -0,0 +1,52 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.core.cs.selector;
+
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
+import pascal.taie.analysis.pta.core.cs.context.ListContext;
+
+/**
+ * Skeleton of context selectors, which makes contexts
+ * via a {@link ContextFactory}.
+ */
+abstract class AbstractContextSelector implements ContextSelector {
+
+    protected final ContextFactory<Object> factory;
+
+    /**
+     * Creates a context selector that makes list-based contexts.
+     */
+    protected AbstractContextSelector() {
+        this(new ListContext.Factory<>());
+    }
+
+    protected AbstractContextSelector(ContextFactory<Object> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public Context getEmptyContext() {
+        return factory.getEmptyContext();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.core.cs.selector;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
+import pascal.taie.analysis.pta.core.cs.element.CSMethod;
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.MultiMap;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Limits the number of contexts of each method. The contexts selected
+ * by a delegate selector are used until a method has {@link #budget}
+ * distinct contexts; after that, the method is analyzed with the
+ * empty context for any new context, which is counted as a fallback
+ * (once for each method and context).
+ * This prevents context explosion on a few methods from exhausting
+ * memory, at the cost of precision on these methods.
+ */
+public class BudgetedContextSelector implements ContextSelector {
+
+    /**
+     * Key of the fallbacks of each method ({@link #getFallbacks()})
+     * in the pointer analysis result.
+     */
+    public static final String KEY = "context-budget-fallbacks";
+
+    private static final Logger logger = LogManager.getLogger(BudgetedContextSelector.class);
+
+    private final ContextSelector delegate;
+
+    /**
+     * Maximum number of distinct contexts of each method.
+     */
+    private final int budget;
+
+    /**
+     * Map from a method to its distinct contexts selected so far.
+     */
+    private final MultiMap<JMethod, Context> contexts = Maps.newMultiMap();
+
+    /**
+     * Map from a method to the contexts that have been replaced by
+     * the empty context.
+     */
+    private final MultiMap<JMethod, Context> fallbackContexts = Maps.newMultiMap();
+
+    /**
+     * Number of fallbacks of each method.
+     */
+    private final Map<JMethod, Integer> fallbacks = Maps.newMap();
+
+    private int fallbackCount = 0;
+
+    public BudgetedContextSelector(ContextSelector delegate, int budget) {
+        this.delegate = delegate;
+        this.budget = budget;
+    }
+
+    @Override
+    public Context getEmptyContext() {
+        return delegate.getEmptyContext();
+    }
+
+    @Override
+    public Context selectContext(CSCallSite callSite, JMethod callee) {
+        return check(callee, delegate.selectContext(callSite, callee));
+    }
+
+    @Override
+    public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
+        return check(callee, delegate.selectContext(callSite, recv, callee));
+    }
+
+    @Override
+    public Context selectHeapContext(CSMethod method, Obj obj) {
+        return delegate.selectHeapContext(method, obj);
+    }
+
+    /**
+     * @return the number of distinct (method, context) pairs whose
+     * context has been replaced by the empty context.
+     */
+    public int getFallbackCount() {
+        return fallbackCount;
+    }
+
+    /**
+     * @return the number of distinct contexts replaced by the empty
+     * context of each method.
+     */
+    public Map<JMethod, Integer> getFallbacks() {
+        return fallbacks;
+    }
+
+    private Context check(JMethod method, Context context) {
+        Set<Context> selected = contexts.get(method);
+        if (selected.contains(context)) {
+            return context;
+        }
+        if (selected.size() < budget) {
+            contexts.put(method, context);
+            return context;
+        }
+        // the same context may be selected again for the method
+        // (e.g., from another call site), which is not a new fallback
+        if (fallbackContexts.put(method, context)) {
+            ++fallbackCount;
+            int count = fallbacks.merge(method, 1, Integer::sum);
+            if (count == 1) {
+                logger.info("Context budget ({}) of {} is exhausted," +
+                        " falling back to the empty context", budget, method);
+            }
+            logger.debug("Fallback #{} of {}: {} -> []", count, method, context);
+        }
+        return getEmptyContext();
+    }
+}
@@ -23,7 +23,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -33,11 +33,13 @@ import pascal.taie.language.classes.JMethod;
 /**
  * Implementation of context insensitivity.
  */
-public class CISelector implements ContextSelector {
+public class CISelector extends AbstractContextSelector {
 
-    @Override
-    public Context getEmptyContext() {
-        return ListContext.make();
+    public CISelector() {
+    }
+
+    public CISelector(ContextFactory<Object> factory) {
+        super(factory);
     }
 
     @Override
@@ -23,7 +23,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -33,11 +33,13 @@ import pascal.taie.language.classes.JMethod;
 /**
  * Implementation of 1-call-site sensitivity.
  */
-public class _1CallSelector implements ContextSelector {
+public class _1CallSelector extends AbstractContextSelector {
 
-    @Override
-    public Context getEmptyContext() {
-        return ListContext.make();
+    public _1CallSelector() {
+    }
+
+    public _1CallSelector(ContextFactory<Object> factory) {
+        super(factory);
     }
 
     @Override
@@ -49,7 +51,7 @@ public class _1CallSelector implements ContextSelector {
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
-        return ListContext.make(callSite.getCallSite());
+        return factory.make(callSite.getCallSite());
     }
 
     @Override
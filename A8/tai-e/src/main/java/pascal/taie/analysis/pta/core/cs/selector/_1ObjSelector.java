@@ -23,7 +23,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -33,11 +33,13 @@ import pascal.taie.language.classes.JMethod;
 /**
  * Implementation of 1-object sensitivity.
  */
-public class _1ObjSelector implements ContextSelector {
+public class _1ObjSelector extends AbstractContextSelector {
 
-    @Override
-    public Context getEmptyContext() {
-        return ListContext.make();
+    public _1ObjSelector() {
+    }
+
+    public _1ObjSelector(ContextFactory<Object> factory) {
+        super(factory);
     }
 
     @Override
@@ -49,7 +51,7 @@ public class _1ObjSelector implements ContextSelector {
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
-        return ListContext.make(recv.getObject());
+        return factory.make(recv.getObject());
     }
 
     @Override
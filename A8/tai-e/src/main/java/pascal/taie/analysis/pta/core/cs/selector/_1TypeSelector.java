@@ -23,7 +23,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -33,11 +33,13 @@ import pascal.taie.language.classes.JMethod;
 /**
  * Implementation of 1-type sensitivity.
  */
-public class _1TypeSelector implements ContextSelector {
+public class _1TypeSelector extends AbstractContextSelector {
 
-    @Override
-    public Context getEmptyContext() {
-        return ListContext.make();
+    public _1TypeSelector() {
+    }
+
+    public _1TypeSelector(ContextFactory<Object> factory) {
+        super(factory);
     }
 
     @Override
@@ -49,7 +51,7 @@ public class _1TypeSelector implements ContextSelector {
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
-        return ListContext.make(recv.getObject().getContainerType());
+        return factory.make(recv.getObject().getContainerType());
     }
 
     @Override
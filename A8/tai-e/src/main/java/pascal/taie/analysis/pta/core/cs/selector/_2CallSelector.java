@@ -23,7 +23,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -34,11 +34,13 @@ import pascal.taie.language.classes.JMethod;
 /**
  * Implementation of 2-call-site sensitivity.
  */
-public class _2CallSelector implements ContextSelector {
+public class _2CallSelector extends AbstractContextSelector {
 
-    @Override
-    public Context getEmptyContext() {
-        return ListContext.make();
+    public _2CallSelector() {
+    }
+
+    public _2CallSelector(ContextFactory<Object> factory) {
+        super(factory);
     }
 
     @Override
@@ -50,11 +52,7 @@ public class _2CallSelector implements ContextSelector {
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
-        Context context = callSite.getContext();
-        if(context.getLength() > 0) {
-            return ListContext.make(context.getElementAt(context.getLength() - 1), callSite.getCallSite());
-        }
-        return ListContext.make(callSite.getCallSite());
+        return factory.append(callSite.getContext(), callSite.getCallSite(), 2);
     }
 
     @Override
@@ -62,7 +60,7 @@ public class _2CallSelector implements ContextSelector {
         // TODO - finish me
         Context context = method.getContext();
         if(context.getLength() > 0){
-            return ListContext.make(context.getElementAt(context.getLength() - 1));
+            return factory.make(context.getElementAt(context.getLength() - 1));
         }
         return getEmptyContext();
     }
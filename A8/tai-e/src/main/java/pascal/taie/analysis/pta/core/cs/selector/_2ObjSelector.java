@@ -23,7 +23,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -33,11 +33,13 @@ import pascal.taie.language.classes.JMethod;
 /**
  * Implementation of 2-object sensitivity.
  */
-public class _2ObjSelector implements ContextSelector {
+public class _2ObjSelector extends AbstractContextSelector {
 
-    @Override
-    public Context getEmptyContext() {
-        return ListContext.make();
+    public _2ObjSelector() {
+    }
+
+    public _2ObjSelector(ContextFactory<Object> factory) {
+        super(factory);
     }
 
     @Override
@@ -49,11 +51,7 @@ public class _2ObjSelector implements ContextSelector {
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
-        Context context = recv.getContext();
-        if(context.getLength() > 0){
-            return ListContext.make(context.getElementAt(context.getLength() - 1), recv.getObject());
-        }
-        return ListContext.make(recv.getObject());
+        return factory.append(recv.getContext(), recv.getObject(), 2);
     }
 
     @Override
@@ -61,7 +59,7 @@ public class _2ObjSelector implements ContextSelector {
         // TODO - finish me
         Context context = method.getContext();
         if(context.getLength() > 0){
-            return ListContext.make(context.getElementAt(context.getLength() - 1));
+            return factory.make(context.getElementAt(context.getLength() - 1));
         }
         return getEmptyContext();
     }
@@ -23,7 +23,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -34,11 +34,13 @@ import pascal.taie.language.type.Type;
 /**
  * Implementation of 2-type sensitivity.
  */
-public class _2TypeSelector implements ContextSelector {
+public class _2TypeSelector extends AbstractContextSelector {
 
-    @Override
-    public Context getEmptyContext() {
-        return ListContext.make();
+    public _2TypeSelector() {
+    }
+
+    public _2TypeSelector(ContextFactory<Object> factory) {
+        super(factory);
     }
 
     @Override
@@ -50,11 +52,8 @@ public class _2TypeSelector implements ContextSelector {
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
-        Context context = recv.getContext();
-        if(context.getLength() > 0){
-            return ListContext.make(context.getElementAt(context.getLength() - 1), recv.getObject().getContainerType());
-        }
-        return ListContext.make(recv.getObject().getContainerType());
+        return factory.append(recv.getContext(),
+                recv.getObject().getContainerType(), 2);
     }
 
     @Override
@@ -62,7 +61,7 @@ public class _2TypeSelector implements ContextSelector {
         // TODO - finish me
         Context context = method.getContext();
         if(context.getLength() > 0){
-            return ListContext.make(context.getElementAt(context.getLength() - 1));
+            return factory.make(context.getElementAt(context.getLength() - 1));
         }
         return getEmptyContext();
     }
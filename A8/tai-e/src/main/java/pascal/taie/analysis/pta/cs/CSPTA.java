@@ -22,19 +22,38 @@
 
 package pascal.taie.analysis.pta.cs;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import pascal.taie.analysis.ProgramAnalysis;
 import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.analysis.pta.ResultSnapshot;
+import pascal.taie.analysis.pta.core.cs.context.ContextFactory;
+import pascal.taie.analysis.pta.core.cs.context.TrieContext;
+import pascal.taie.analysis.pta.core.cs.selector.BudgetedContextSelector;
 import pascal.taie.analysis.pta.core.cs.selector.CISelector;
 import pascal.taie.analysis.pta.core.cs.selector.ContextSelector;
+import pascal.taie.analysis.pta.core.cs.selector.SelectiveContextSelector;
 import pascal.taie.analysis.pta.core.heap.AllocationSiteBasedModel;
+import pascal.taie.analysis.pta.core.heap.Obj;
 import pascal.taie.analysis.pta.plugin.ResultProcessor;
 import pascal.taie.config.AnalysisConfig;
 import pascal.taie.config.AnalysisOptions;
 import pascal.taie.config.ConfigException;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.util.AnalysisException;
 import pascal.taie.util.Strings;
+import pascal.taie.util.collection.Maps;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Context-sensitive pointer analysis.
@@ -43,6 +62,15 @@ public class CSPTA extends ProgramAnalysis {
 
     public static final String ID = "cspta";
 
+    private static final Logger logger = LogManager.getLogger(CSPTA.class);
+
+    /**
+     * Options read by {@link AllocationSiteBasedModel}.
+     */
+    private static final List<String> HEAP_MODEL_OPTIONS = List.of(
+            "merge-string-constants", "merge-string-objects",
+            "merge-string-builders", "merge-exception-objects");
+
     public CSPTA(AnalysisConfig config) {
         super(config);
     }
@@ -50,18 +78,127 @@ public class CSPTA extends ProgramAnalysis {
     @Override
     public PointerAnalysisResult analyze() {
         AnalysisOptions options = getOptions();
+        String input = options.getString("load-snapshot");
+        // reuses the result of a previous run instead of solving
+        PointerAnalysisResult result = input != null ?
+                ResultSnapshot.read(Path.of(input)) : solve(options);
+        ResultProcessor.process(options, result);
+        return result;
+    }
+
+    private static PointerAnalysisResult solve(AnalysisOptions options) {
+        ContextSelector selector = getContextSelector(options.getString("cs"),
+                options.getBooleanOrDefault("intern-contexts", false));
+        BudgetedContextSelector budgeted = null;
+        if (options.get("context-budget") instanceof Integer budget) {
+            selector = budgeted = new BudgetedContextSelector(selector, budget);
+        }
+        if (options.getBooleanOrDefault("selective-contexts", false)) {
+            selector = new SelectiveContextSelector(
+                    selector, findCriticalMethods(options));
+        }
         Solver solver = new Solver(options,
-                new AllocationSiteBasedModel(options),
-                getContextSelector(options.getString("cs")));
+                new AllocationSiteBasedModel(options), selector);
         solver.solve();
         PointerAnalysisResult result = solver.getResult();
-        ResultProcessor.process(options, result);
+        if (budgeted != null) {
+            logger.info("{} contexts fell back to the empty context" +
+                            " in {} methods due to context budget",
+                    budgeted.getFallbackCount(), budgeted.getFallbacks().size());
+            result.storeResult(BudgetedContextSelector.KEY, budgeted.getFallbacks());
+        }
+        String output = options.getString("snapshot");
+        if (output != null) {
+            ResultSnapshot.write(result, Path.of(output));
+            if (options.getBooleanOrDefault("snapshot-check", false)) {
+                checkSnapshot(result, ResultSnapshot.read(Path.of(output)));
+            }
+        }
         return result;
     }
 
-    private static ContextSelector getContextSelector(String cs) {
+    /**
+     * Runs a context-insensitive pre-analysis, and finds the methods
+     * that need context sensitivity from its result.
+     */
+    private static Set<JMethod> findCriticalMethods(AnalysisOptions options) {
+        AnalysisOptions preOptions = getPreAnalysisOptions(options);
+        Solver preSolver = new Solver(preOptions,
+                new AllocationSiteBasedModel(preOptions), new CISelector());
+        preSolver.solve();
+        Set<JMethod> criticalMethods =
+                CriticalMethodFinder.find(preSolver.getResult());
+        logger.info("{} precision-critical methods selected by pre-analysis",
+                criticalMethods.size());
+        return criticalMethods;
+    }
+
+    /**
+     * @return the options of the pre-analysis. Only the options of the heap
+     * model are kept, so that the pre-analysis has the same objects as
+     * the main analysis, but it runs on a single thread without taint
+     * analysis, metrics and the other features.
+     */
+    private static AnalysisOptions getPreAnalysisOptions(AnalysisOptions options) {
+        Map<String, Object> preOptions = Maps.newMap();
+        preOptions.put("cs", "ci");
+        for (String key : HEAP_MODEL_OPTIONS) {
+            preOptions.put(key, options.get(key));
+        }
+        return new AnalysisOptions(preOptions);
+    }
+
+    /**
+     * Checks that the result read from a snapshot has the same
+     * context-insensitive points-to sets and call graph, the same numbers
+     * of context-sensitive elements, and the same stored results
+     * as the given result.
+     */
+    private static void checkSnapshot(PointerAnalysisResult expected,
+                                      PointerAnalysisResult given) {
+        List<String> mismatches = new ArrayList<>();
+        for (Var var : expected.getVars()) {
+            Set<String> expectedPts = toStrings(expected.getPointsToSet(var));
+            Set<String> givenPts = toStrings(given.getPointsToSet(var));
+            if (!expectedPts.equals(givenPts)) {
+                mismatches.add(String.format("%s, expected: %s, given: %s",
+                        var, expectedPts, givenPts));
+            }
+        }
+        if (!Set.copyOf(expected.getCallGraph().edges().toList()).equals(
+                Set.copyOf(given.getCallGraph().edges().toList()))) {
+            mismatches.add("call graph edges");
+        }
+        if (expected.getCSVars().size() != given.getCSVars().size()
+                || expected.getCSObjects().size() != given.getCSObjects().size()
+                || expected.getCSCallGraph().getNumberOfEdges() !=
+                given.getCSCallGraph().getNumberOfEdges()) {
+            mismatches.add("context-sensitive elements");
+        }
+        for (String key : expected.getKeys()) {
+            if (key.contains("Taint") && !Objects.equals(
+                    expected.getResult(key), given.getResult(key))) {
+                mismatches.add("taint flows");
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            throw new AnalysisException("Mismatches of snapshot\n" +
+                    String.join("\n", mismatches));
+        }
+    }
+
+    private static Set<String> toStrings(Set<Obj> pts) {
+        return pts.stream()
+                .map(Obj::toString)
+                .collect(Collectors.toSet());
+    }
+
+    static ContextSelector getContextSelector(
+            String cs, boolean internContexts) {
         if (cs.equals("ci")) {
-            return new CISelector();
+            return internContexts ?
+                    new CISelector(new TrieContext.Factory<>()) :
+                    new CISelector();
         } else {
             try {
                 // we expect that the argument of context-sensitivity variant
@@ -73,8 +210,14 @@ public class CSPTA extends ProgramAnalysis {
                 String selectorName = "pascal.taie.analysis.pta.core.cs.selector." +
                         "_" + k + kind + "Selector";
                 Class<?> c = Class.forName(selectorName);
-                Constructor<?> ctor = c.getConstructor();
-                return (ContextSelector) ctor.newInstance();
+                if (internContexts) {
+                    Constructor<?> ctor = c.getConstructor(ContextFactory.class);
+                    return (ContextSelector) ctor.newInstance(
+                            new TrieContext.Factory<>());
+                } else {
+                    Constructor<?> ctor = c.getConstructor();
+                    return (ContextSelector) ctor.newInstance();
+                }
             } catch (RuntimeException e) {
                 throw new ConfigException("Unexpected context-sensitivity variants: " + cs, e);
             } catch (ClassNotFoundException | NoSuchMethodException |
@@ -0,0 +1,108 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.pta.core.cs.element.Pointer;
+import pascal.taie.analysis.pta.pts.PointsToSet;
+import pascal.taie.analysis.pta.pts.PointsToSetFactory;
+import pascal.taie.util.collection.Maps;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Work list that keeps at most one pending entry for each pointer.
+ * Points-to sets added for a pointer that is already in the work list
+ * are merged into its pending points-to set, so that each pointer
+ * is propagated once until it is polled.
+ */
+class CoalescingWorkList implements WorkList {
+
+    /**
+     * Pointers with pending points-to sets, in FIFO order.
+     */
+    private final Queue<Pointer> pointers = new ArrayDeque<>();
+
+    /**
+     * Map from pointer to its pending points-to set.
+     */
+    private final Map<Pointer, Pending> pendings = Maps.newMap();
+
+    @Override
+    public void addEntry(Pointer pointer, PointsToSet pointsToSet) {
+        Pending pending = pendings.get(pointer);
+        if (pending == null) {
+            pendings.put(pointer, new Pending(pointsToSet));
+            pointers.add(pointer);
+        } else {
+            pending.merge(pointsToSet);
+        }
+    }
+
+    @Override
+    public Entry pollEntry() {
+        Pointer pointer = pointers.poll();
+        if (pointer == null) {
+            return null;
+        }
+        return new Entry(pointer, pendings.remove(pointer).pointsToSet);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return pointers.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return pointers.size();
+    }
+
+    /**
+     * Pending points-to set of a pointer. The first points-to set added
+     * for the pointer may be shared with others (e.g., it may be the
+     * points-to set of a PFG node), thus it is copied before the first
+     * merge instead of being modified in place.
+     */
+    private static class Pending {
+
+        private PointsToSet pointsToSet;
+
+        private boolean copied = false;
+
+        private Pending(PointsToSet pointsToSet) {
+            this.pointsToSet = pointsToSet;
+        }
+
+        private void merge(PointsToSet other) {
+            if (!copied) {
+                PointsToSet copy = PointsToSetFactory.make();
+                copy.addAll(pointsToSet);
+                pointsToSet = copy;
+                copied = true;
+            }
+            pointsToSet.addAll(other);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.pta.core.cs.element.Pointer;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stores PFG successors as growable arrays of dense pointer indexes,
+ * instead of one hash set per node. Duplicate edges are detected by
+ * a linear scan for short successor lists, and by an open-addressing
+ * hash set of indexes for long ones.
+ */
+class CompactSuccessors implements PointerFlowGraph.Successors {
+
+    /**
+     * Successor lists longer than this are indexed by a hash set.
+     */
+    private static final int LINEAR_SCAN_LIMIT = 16;
+
+    /**
+     * Bytes of the header of an array object.
+     */
+    private static final int ARRAY_HEADER = 16;
+
+    /**
+     * Pointers indexed by this storage.
+     */
+    private final List<Pointer> pointers = new ArrayList<>();
+
+    /**
+     * Successor indexes of each pointer (indexed by pointer index).
+     */
+    private int[][] succs = new int[16][];
+
+    /**
+     * Number of successors of each pointer.
+     */
+    private int[] sizes = new int[16];
+
+    /**
+     * Hash sets of successor indexes + 1 of each pointer
+     * (0 for empty slots), or null for short successor lists.
+     */
+    private int[][] succSets = new int[16][];
+
+    private int nodeCount = 0;
+
+    private long edgeCount = 0;
+
+    @Override
+    public boolean put(Pointer source, Pointer target) {
+        int s = getIndex(source);
+        int t = getIndex(target);
+        if (contains(s, t)) {
+            return false;
+        }
+        int size = sizes[s];
+        int[] succ = succs[s];
+        if (succ == null) {
+            succ = succs[s] = new int[2];
+            ++nodeCount;
+        } else if (size == succ.length) {
+            succ = succs[s] = Arrays.copyOf(succ, size * 2);
+        }
+        succ[size] = t;
+        sizes[s] = size + 1;
+        ++edgeCount;
+        if (succSets[s] != null) {
+            succSets[s] = addToSet(succSets[s], t, size + 1);
+        } else if (size + 1 > LINEAR_SCAN_LIMIT) {
+            succSets[s] = buildSet(succ, size + 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(Pointer source, Pointer target) {
+        int s = source.getIndex();
+        int t = target.getIndex();
+        if (s == -1 || s >= succs.length || t == -1 || !contains(s, t)) {
+            return false;
+        }
+        // removes t from a copy, as the views returned by get()
+        // may still read the current array
+        int[] succ = succs[s] = succs[s].clone();
+        int last = sizes[s] - 1;
+        for (int i = 0; i <= last; ++i) {
+            if (succ[i] == t) {
+                succ[i] = succ[last];
+                break;
+            }
+        }
+        sizes[s] = last;
+        --edgeCount;
+        if (last == 0) {
+            clear(s);
+        } else if (succSets[s] != null) {
+            // removal from an open-addressing set breaks its probe chains,
+            // so just rebuild it, as removals only happen on merging nodes
+            succSets[s] = last > LINEAR_SCAN_LIMIT ? buildSet(succ, last) : null;
+        }
+        return true;
+    }
+
+    @Override
+    public void removeAll(Pointer source) {
+        int s = source.getIndex();
+        if (s != -1 && s < succs.length && succs[s] != null) {
+            edgeCount -= sizes[s];
+            sizes[s] = 0;
+            clear(s);
+        }
+    }
+
+    /**
+     * @return a view of the successors of given pointer. The view
+     * does not reflect the changes made after this call.
+     */
+    @Override
+    public Collection<Pointer> get(Pointer source) {
+        int s = source.getIndex();
+        if (s == -1 || s >= succs.length || succs[s] == null) {
+            return List.of();
+        }
+        int[] succ = succs[s];
+        int size = sizes[s];
+        return new AbstractList<>() {
+            @Override
+            public Pointer get(int i) {
+                return pointers.get(succ[i]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public long getMemoryEstimate() {
+        // the three outer arrays of references and sizes
+        long memory = 3L * (ARRAY_HEADER + 4L * succs.length);
+        for (int i = 0; i < succs.length; ++i) {
+            if (succs[i] != null) {
+                memory += ARRAY_HEADER + 4L * succs[i].length;
+            }
+            if (succSets[i] != null) {
+                memory += ARRAY_HEADER + 4L * succSets[i].length;
+            }
+        }
+        return memory;
+    }
+
+    /**
+     * @return the index of given pointer. If the pointer has not been
+     * indexed, assigns the next free index to it.
+     */
+    private int getIndex(Pointer pointer) {
+        int index = pointer.getIndex();
+        if (index == -1) {
+            index = pointers.size();
+            pointer.setIndex(index);
+            pointers.add(pointer);
+            if (index >= succs.length) {
+                int length = succs.length * 2;
+                succs = Arrays.copyOf(succs, length);
+                sizes = Arrays.copyOf(sizes, length);
+                succSets = Arrays.copyOf(succSets, length);
+            }
+        }
+        return index;
+    }
+
+    private boolean contains(int s, int t) {
+        int[] set = succSets[s];
+        if (set != null) {
+            int key = t + 1;
+            int mask = set.length - 1;
+            for (int i = hash(key) & mask; set[i] != 0; i = (i + 1) & mask) {
+                if (set[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int[] succ = succs[s];
+        for (int i = 0; i < sizes[s]; ++i) {
+            if (succ[i] == t) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void clear(int s) {
+        succs[s] = null;
+        succSets[s] = null;
+        --nodeCount;
+    }
+
+    /**
+     * Adds t to given hash set which contains (size - 1) elements.
+     *
+     * @return the set containing t, which may be a new (larger) one.
+     */
+    private static int[] addToSet(int[] set, int t, int size) {
+        if (size * 2 > set.length) {
+            int[] newSet = new int[set.length * 2];
+            for (int key : set) {
+                if (key != 0) {
+                    insert(newSet, key);
+                }
+            }
+            set = newSet;
+        }
+        insert(set, t + 1);
+        return set;
+    }
+
+    private static int[] buildSet(int[] succ, int size) {
+        int capacity = Integer.highestOneBit(size * 2 - 1) << 1;
+        int[] set = new int[capacity];
+        for (int i = 0; i < size; ++i) {
+            insert(set, succ[i] + 1);
+        }
+        return set;
+    }
+
+    private static void insert(int[] set, int key) {
+        int mask = set.length - 1;
+        int i = hash(key) & mask;
+        while (set[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        set[i] = key;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
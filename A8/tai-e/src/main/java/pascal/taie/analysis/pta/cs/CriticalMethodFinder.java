@@ -0,0 +1,245 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.graph.callgraph.CallGraph;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.ir.IR;
+import pascal.taie.ir.exp.InstanceFieldAccess;
+import pascal.taie.ir.exp.InvokeExp;
+import pascal.taie.ir.exp.InvokeInstanceExp;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Cast;
+import pascal.taie.ir.stmt.Copy;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.ir.stmt.LoadArray;
+import pascal.taie.ir.stmt.LoadField;
+import pascal.taie.ir.stmt.New;
+import pascal.taie.ir.stmt.Stmt;
+import pascal.taie.ir.stmt.StoreArray;
+import pascal.taie.ir.stmt.StoreField;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.MultiMap;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds precision-critical methods from the result of
+ * a context-insensitive pre-analysis, in the spirit of Zipper.
+ * <p>
+ * Contexts can improve the precision of a method only if the method
+ * is analyzed under different calling environments, and objects flow
+ * in and out of the method, so that the objects of different callers
+ * would be mixed without contexts. So a method is regarded as
+ * precision-critical if
+ * <ul>
+ *     <li>it is <em>merged</em>: it has multiple call sites or
+ *     receiver objects, and</li>
+ *     <li>it has <em>object flows</em>: the objects passed in via
+ *     {@code this} or parameters flow out via return variables, either
+ *     directly, after being loaded from their fields (unwrapped flows)
+ *     or after being stored into the fields of returned objects
+ *     (wrapped flows), or the objects passed in or allocated in the
+ *     method are stored into the fields of the objects passed in.</li>
+ * </ul>
+ * The object flows are computed on the assignments, field and array
+ * accesses of each method. A call passes objects from its arguments
+ * (and receiver) to its result, and from its arguments into its receiver,
+ * only if some callee has object flows, which is computed by a fixed
+ * point over the call graph. Unlike the contexts of call-site or object
+ * sensitivity, merging is not propagated to callees: a callee whose
+ * callers all reach it via the same call site needs no contexts by itself.
+ */
+class CriticalMethodFinder {
+
+    private CriticalMethodFinder() {
+    }
+
+    static Set<JMethod> find(PointerAnalysisResult ciResult) {
+        CallGraph<Invoke, JMethod> callGraph = ciResult.getCallGraph();
+        Set<JMethod> flowMethods = findFlowMethods(ciResult);
+        Set<JMethod> critical = Sets.newSet();
+        callGraph.reachableMethods().forEach(method -> {
+            if (flowMethods.contains(method) && isMerged(method, ciResult)) {
+                critical.add(method);
+            }
+        });
+        return critical;
+    }
+
+    private static boolean isMerged(
+            JMethod method, PointerAnalysisResult ciResult) {
+        return ciResult.getCallGraph().getCallersOf(method).size() > 1 ||
+                getReceiverCount(method, ciResult) > 1;
+    }
+
+    private static int getReceiverCount(
+            JMethod method, PointerAnalysisResult ciResult) {
+        if (method.isStatic() || method.isAbstract() || method.isNative()) {
+            return 0;
+        }
+        Var thisVar = method.getIR().getThis();
+        return thisVar == null ? 0 : ciResult.getPointsToSet(thisVar).size();
+    }
+
+    /**
+     * @return the reachable methods that have object flows.
+     */
+    private static Set<JMethod> findFlowMethods(PointerAnalysisResult ciResult) {
+        CallGraph<Invoke, JMethod> callGraph = ciResult.getCallGraph();
+        Set<JMethod> flowMethods = Sets.newSet();
+        Deque<JMethod> workList = new ArrayDeque<>(
+                callGraph.reachableMethods().toList());
+        while (!workList.isEmpty()) {
+            JMethod method = workList.poll();
+            if (!flowMethods.contains(method) &&
+                    hasObjectFlow(method, flowMethods, ciResult)) {
+                flowMethods.add(method);
+                // the calls to the method may carry object flows now
+                callGraph.getCallersOf(method)
+                        .forEach(invoke -> workList.add(invoke.getContainer()));
+            }
+        }
+        return flowMethods;
+    }
+
+    private static boolean hasObjectFlow(
+            JMethod method, Set<JMethod> flowMethods,
+            PointerAnalysisResult ciResult) {
+        if (method.isAbstract() || method.isNative()) {
+            return false;
+        }
+        IR ir = method.getIR();
+        List<Var> inVars = new ArrayList<>();
+        if (ir.getThis() != null) {
+            inVars.add(ir.getThis());
+        }
+        inVars.addAll(ir.getParams());
+        inVars.removeIf(var -> ciResult.getPointsToSet(var).isEmpty());
+        if (inVars.isEmpty()) {
+            return false;
+        }
+        // flows between variables, where wraps also contains
+        // the flows from stored values to their containers
+        MultiMap<Var, Var> flows = Maps.newMultiMap();
+        MultiMap<Var, Var> wraps = Maps.newMultiMap();
+        List<Var> newVars = new ArrayList<>();
+        for (Stmt stmt : ir) {
+            if (stmt instanceof New newStmt) {
+                newVars.add(newStmt.getLValue());
+            } else if (stmt instanceof Copy copy) {
+                flows.put(copy.getRValue(), copy.getLValue());
+            } else if (stmt instanceof Cast cast) {
+                flows.put(cast.getRValue().getValue(), cast.getLValue());
+            } else if (stmt instanceof LoadField load && !load.isStatic()) {
+                flows.put(((InstanceFieldAccess) load.getFieldAccess()).getBase(),
+                        load.getLValue());
+            } else if (stmt instanceof StoreField store && !store.isStatic()) {
+                wraps.put(store.getRValue(),
+                        ((InstanceFieldAccess) store.getFieldAccess()).getBase());
+            } else if (stmt instanceof LoadArray load) {
+                flows.put(load.getArrayAccess().getBase(), load.getLValue());
+            } else if (stmt instanceof StoreArray store) {
+                wraps.put(store.getRValue(), store.getArrayAccess().getBase());
+            } else if (stmt instanceof Invoke invoke &&
+                    callsFlowMethod(invoke, flowMethods, ciResult)) {
+                InvokeExp invokeExp = invoke.getInvokeExp();
+                Var base = invokeExp instanceof InvokeInstanceExp instanceExp ?
+                        instanceExp.getBase() : null;
+                Var result = invoke.getLValue();
+                for (Var arg : invokeExp.getArgs()) {
+                    if (result != null) {
+                        flows.put(arg, result);
+                    }
+                    if (base != null) {
+                        wraps.put(arg, base);
+                    }
+                }
+                if (base != null && result != null) {
+                    flows.put(base, result);
+                }
+            }
+        }
+        // objects passed in flow out via return variables
+        Set<Var> incoming = reach(inVars, flows, null);
+        Set<Var> outgoing = reach(inVars, flows, wraps);
+        if (ir.getReturnVars().stream().anyMatch(outgoing::contains)) {
+            return true;
+        }
+        // objects passed in or allocated here are stored into
+        // the objects passed in
+        List<Var> sources = new ArrayList<>(inVars);
+        sources.addAll(newVars);
+        Set<Var> stored = reach(sources, flows, wraps);
+        for (Var value : wraps.keySet()) {
+            if (stored.contains(value) &&
+                    wraps.get(value).stream().anyMatch(incoming::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean callsFlowMethod(
+            Invoke invoke, Set<JMethod> flowMethods,
+            PointerAnalysisResult ciResult) {
+        return ciResult.getCallGraph()
+                .getCalleesOf(invoke)
+                .stream()
+                .anyMatch(flowMethods::contains);
+    }
+
+    /**
+     * @return the variables reachable from sources via given flows.
+     */
+    private static Set<Var> reach(Collection<Var> sources,
+                                  MultiMap<Var, Var> flows,
+                                  MultiMap<Var, Var> wraps) {
+        Set<Var> reached = Sets.newSet();
+        reached.addAll(sources);
+        Deque<Var> workList = new ArrayDeque<>(sources);
+        while (!workList.isEmpty()) {
+            Var var = workList.poll();
+            for (Var succ : flows.get(var)) {
+                if (reached.add(succ)) {
+                    workList.add(succ);
+                }
+            }
+            if (wraps != null) {
+                for (Var succ : wraps.get(var)) {
+                    if (reached.add(succ)) {
+                        workList.add(succ);
+                    }
+                }
+            }
+        }
+        return reached;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.pta.core.heap.HeapModel;
+import pascal.taie.ir.stmt.Copy;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.ir.stmt.LoadField;
+import pascal.taie.ir.stmt.New;
+import pascal.taie.ir.stmt.Stmt;
+import pascal.taie.ir.stmt.StoreField;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The statements of a method that are processed when the method
+ * becomes reachable, i.e., the statements whose effects do not depend
+ * on points-to sets: {@link New}, {@link Copy}, static field loads/stores
+ * and static {@link Invoke}s. The plan of a method is built once,
+ * and replayed for each context of the method.
+ */
+class MethodPlan {
+
+    static final byte NEW = 0;
+
+    static final byte COPY = 1;
+
+    static final byte LOAD_STATIC = 2;
+
+    static final byte STORE_STATIC = 3;
+
+    static final byte INVOKE_STATIC = 4;
+
+    /**
+     * Kind of each statement in the plan.
+     */
+    final byte[] kinds;
+
+    /**
+     * Relevant statements, in the order of the method body.
+     */
+    final Stmt[] stmts;
+
+    /**
+     * Operand of each statement that can be resolved in advance:
+     * the abstract object of {@link New}, the resolved field of
+     * static field loads/stores, and null for others.
+     */
+    final Object[] operands;
+
+    private MethodPlan(byte[] kinds, Stmt[] stmts, Object[] operands) {
+        this.kinds = kinds;
+        this.stmts = stmts;
+        this.operands = operands;
+    }
+
+    int size() {
+        return stmts.length;
+    }
+
+    static MethodPlan build(JMethod method, HeapModel heapModel) {
+        List<Stmt> stmts = new ArrayList<>();
+        List<Byte> kinds = new ArrayList<>();
+        List<Object> operands = new ArrayList<>();
+        for (Stmt stmt : method.getIR()) {
+            if (stmt instanceof New newStmt) {
+                stmts.add(stmt);
+                kinds.add(NEW);
+                operands.add(heapModel.getObj(newStmt));
+            } else if (stmt instanceof Copy) {
+                stmts.add(stmt);
+                kinds.add(COPY);
+                operands.add(null);
+            } else if (stmt instanceof LoadField load && load.isStatic()) {
+                stmts.add(stmt);
+                kinds.add(LOAD_STATIC);
+                operands.add(load.getFieldRef().resolve());
+            } else if (stmt instanceof StoreField store && store.isStatic()) {
+                stmts.add(stmt);
+                kinds.add(STORE_STATIC);
+                operands.add(store.getFieldRef().resolve());
+            } else if (stmt instanceof Invoke invoke && invoke.isStatic()) {
+                stmts.add(stmt);
+                kinds.add(INVOKE_STATIC);
+                operands.add(null);
+            }
+        }
+        byte[] kindArray = new byte[kinds.size()];
+        for (int i = 0; i < kindArray.length; ++i) {
+            kindArray[i] = kinds.get(i);
+        }
+        return new MethodPlan(kindArray, stmts.toArray(new Stmt[0]),
+                operands.toArray());
+    }
+}
@@ -25,18 +25,52 @@ package pascal.taie.analysis.pta.cs;
 import pascal.taie.analysis.pta.core.cs.element.Pointer;
 import pascal.taie.util.collection.Maps;
 import pascal.taie.util.collection.MultiMap;
+import pascal.taie.util.collection.Sets;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Represents pointer flow graph in context-sensitive pointer analysis.
+ * <p>
+ * The pointers in a strongly connected component of this PFG always
+ * have the same points-to set, so they can be merged into one node
+ * (see {@link #mergeNodes(List)}), which is represented by one of them.
+ * Once some nodes are merged, clients should work on representatives
+ * (see {@link #getRepresentative(Pointer)}).
  */
 class PointerFlowGraph {
 
     /**
-     * Map from a pointer (node) to its successors in PFG.
+     * Successors of each pointer (node) in PFG.
      */
-    private final MultiMap<Pointer, Pointer> successors = Maps.newMultiMap();
+    private final Successors successors;
+
+    /**
+     * Map from a merged pointer to the pointer it has been merged into.
+     */
+    private final Map<Pointer, Pointer> parents = Maps.newMap();
+
+    /**
+     * Map from a representative to the pointers merged into it
+     * (including itself). Representatives without merged pointers are absent.
+     */
+    private final MultiMap<Pointer, Pointer> members = Maps.newMultiMap();
+
+    /**
+     * @param compact if true, stores the successors as arrays of dense
+     *                pointer indexes (see {@link CompactSuccessors}),
+     *                otherwise stores them in a {@link MultiMap}.
+     */
+    PointerFlowGraph(boolean compact) {
+        successors = compact ? new CompactSuccessors() : new MapSuccessors();
+    }
 
     /**
      * Adds an edge (source -> target) to this PFG.
@@ -45,13 +79,263 @@ class PointerFlowGraph {
      * otherwise false.
      */
     boolean addEdge(Pointer source, Pointer target) {
-        return successors.put(source, target);
+        source = getRepresentative(source);
+        target = getRepresentative(target);
+        return source != target && successors.put(source, target);
     }
 
     /**
-     * @return successors of given pointer in the PFG.
+     * @return successors of given pointer in the PFG. If some nodes
+     * have been merged, the given pointer should be a representative,
+     * and the returned successors are also representatives.
      */
-    Set<Pointer> getSuccsOf(Pointer pointer) {
+    Collection<Pointer> getSuccsOf(Pointer pointer) {
+        if (!parents.isEmpty()) {
+            // replace the successors that have been merged
+            // by their representatives
+            List<Pointer> merged = null;
+            for (Pointer succ : successors.get(pointer)) {
+                if (parents.containsKey(succ)) {
+                    if (merged == null) {
+                        merged = new ArrayList<>();
+                    }
+                    merged.add(succ);
+                }
+            }
+            if (merged != null) {
+                for (Pointer succ : merged) {
+                    successors.remove(pointer, succ);
+                    Pointer rep = getRepresentative(succ);
+                    if (rep != pointer) {
+                        successors.put(pointer, rep);
+                    }
+                }
+            }
+        }
         return successors.get(pointer);
     }
+
+    /**
+     * @return the representative of the node containing given pointer.
+     */
+    Pointer getRepresentative(Pointer pointer) {
+        if (parents.isEmpty()) {
+            return pointer;
+        }
+        Pointer rep = pointer;
+        Pointer parent;
+        while ((parent = parents.get(rep)) != null) {
+            rep = parent;
+        }
+        // path compression
+        while ((parent = parents.get(pointer)) != null && parent != rep) {
+            parents.put(pointer, rep);
+            pointer = parent;
+        }
+        return rep;
+    }
+
+    /**
+     * @return the pointers merged into given representative
+     * (including itself).
+     */
+    Set<Pointer> getMembers(Pointer rep) {
+        return members.containsKey(rep) ? members.get(rep) : Set.of(rep);
+    }
+
+    /**
+     * Merges the nodes of given representatives into one node.
+     *
+     * @return the representative of the merged node.
+     */
+    Pointer mergeNodes(List<Pointer> reps) {
+        Pointer rep = reps.get(0);
+        if (!members.containsKey(rep)) {
+            members.put(rep, rep);
+        }
+        for (Pointer other : reps.subList(1, reps.size())) {
+            parents.put(other, rep);
+            members.putAll(rep, getMembers(other));
+            members.removeAll(other);
+            for (Pointer succ : successors.get(other)) {
+                successors.put(rep, succ);
+            }
+            successors.removeAll(other);
+        }
+        // remove the edges inside the merged node
+        List<Pointer> inner = new ArrayList<>();
+        for (Pointer succ : successors.get(rep)) {
+            if (getRepresentative(succ) == rep) {
+                inner.add(succ);
+            }
+        }
+        inner.forEach(succ -> successors.remove(rep, succ));
+        return rep;
+    }
+
+    /**
+     * Finds the strongly connected components (with more than one node)
+     * that are reachable from given representative, by Tarjan's algorithm.
+     *
+     * @return representatives of the nodes in each component.
+     */
+    List<List<Pointer>> findSCCs(Pointer start) {
+        List<List<Pointer>> sccs = new ArrayList<>();
+        Map<Pointer, Integer> indexes = Maps.newMap();
+        Map<Pointer, Integer> lowLinks = Maps.newMap();
+        Deque<Pointer> stack = new ArrayDeque<>();
+        Set<Pointer> onStack = Sets.newSet();
+        // the DFS is iterative to avoid stack overflow on long chains
+        Deque<Pointer> path = new ArrayDeque<>();
+        Deque<Iterator<Pointer>> succIters = new ArrayDeque<>();
+        indexes.put(start, 0);
+        lowLinks.put(start, 0);
+        stack.push(start);
+        onStack.add(start);
+        path.push(start);
+        succIters.push(getSuccsOf(start).iterator());
+        while (!path.isEmpty()) {
+            Pointer node = path.peek();
+            Iterator<Pointer> succIter = succIters.peek();
+            if (succIter.hasNext()) {
+                Pointer succ = succIter.next();
+                if (!indexes.containsKey(succ)) {
+                    int index = indexes.size();
+                    indexes.put(succ, index);
+                    lowLinks.put(succ, index);
+                    stack.push(succ);
+                    onStack.add(succ);
+                    path.push(succ);
+                    succIters.push(getSuccsOf(succ).iterator());
+                } else if (onStack.contains(succ)) {
+                    lowLinks.put(node,
+                            Math.min(lowLinks.get(node), indexes.get(succ)));
+                }
+            } else {
+                path.pop();
+                succIters.pop();
+                int lowLink = lowLinks.get(node);
+                if (lowLink == indexes.get(node)) {
+                    List<Pointer> scc = new ArrayList<>();
+                    Pointer p;
+                    do {
+                        p = stack.pop();
+                        onStack.remove(p);
+                        scc.add(p);
+                    } while (p != node);
+                    if (scc.size() > 1) {
+                        sccs.add(scc);
+                    }
+                }
+                if (!path.isEmpty()) {
+                    Pointer parent = path.peek();
+                    lowLinks.put(parent,
+                            Math.min(lowLinks.get(parent), lowLink));
+                }
+            }
+        }
+        return sccs;
+    }
+
+    /**
+     * @return the statistics of this PFG.
+     */
+    PFGStatistics getStatistics() {
+        return new PFGStatistics(successors.getNodeCount(),
+                successors.getEdgeCount(), successors.getMemoryEstimate());
+    }
+
+    /**
+     * Storage of the successors of PFG nodes.
+     */
+    interface Successors {
+
+        /**
+         * @return true if the edge is new, otherwise false.
+         */
+        boolean put(Pointer source, Pointer target);
+
+        /**
+         * @return true if the edge existed, otherwise false.
+         */
+        boolean remove(Pointer source, Pointer target);
+
+        /**
+         * Removes all successors of given pointer.
+         */
+        void removeAll(Pointer source);
+
+        /**
+         * @return successors of given pointer.
+         */
+        Collection<Pointer> get(Pointer source);
+
+        /**
+         * @return the number of pointers that have successors.
+         */
+        int getNodeCount();
+
+        /**
+         * @return the number of edges.
+         */
+        long getEdgeCount();
+
+        /**
+         * @return estimated bytes taken by this storage.
+         */
+        long getMemoryEstimate();
+    }
+
+    private static class MapSuccessors implements Successors {
+
+        /**
+         * Estimated bytes per key of a hash-based multimap: a map entry,
+         * a slot of the hash table, and the object of the value set.
+         */
+        private static final int BYTES_PER_KEY = 32 + 8 + 48;
+
+        /**
+         * Estimated bytes per value of a hash-based set:
+         * a set entry and a slot of the hash table.
+         */
+        private static final int BYTES_PER_VALUE = 32 + 8;
+
+        private final MultiMap<Pointer, Pointer> successors = Maps.newMultiMap();
+
+        @Override
+        public boolean put(Pointer source, Pointer target) {
+            return successors.put(source, target);
+        }
+
+        @Override
+        public boolean remove(Pointer source, Pointer target) {
+            return successors.remove(source, target);
+        }
+
+        @Override
+        public void removeAll(Pointer source) {
+            successors.removeAll(source);
+        }
+
+        @Override
+        public Collection<Pointer> get(Pointer source) {
+            return successors.get(source);
+        }
+
+        @Override
+        public int getNodeCount() {
+            return successors.keySet().size();
+        }
+
+        @Override
+        public long getEdgeCount() {
+            return successors.size();
+        }
+
+        @Override
+        public long getMemoryEstimate() {
+            return (long) getNodeCount() * BYTES_PER_KEY
+                    + getEdgeCount() * BYTES_PER_VALUE;
+        }
+    }
 }
@@ -32,6 +32,7 @@ import pascal.taie.analysis.pta.PointerAnalysisResult;
 import pascal.taie.analysis.pta.PointerAnalysisResultImpl;
 import pascal.taie.analysis.pta.core.cs.CSCallGraph;
 import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.cs.element.ArrayBasedCSManager;
 import pascal.taie.analysis.pta.core.cs.element.ArrayIndex;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSManager;
@@ -49,6 +50,7 @@ import pascal.taie.analysis.pta.plugin.taint.TaintAnalysiss;
 import pascal.taie.analysis.pta.pts.PointsToSet;
 import pascal.taie.analysis.pta.pts.PointsToSetFactory;
 import pascal.taie.config.AnalysisOptions;
+import pascal.taie.config.ConfigException;
 import pascal.taie.ir.exp.InvokeExp;
 import pascal.taie.ir.exp.Var;
 import pascal.taie.ir.proginfo.MethodRef;
@@ -57,17 +59,35 @@ import pascal.taie.ir.stmt.Invoke;
 import pascal.taie.ir.stmt.LoadArray;
 import pascal.taie.ir.stmt.LoadField;
 import pascal.taie.ir.stmt.New;
-import pascal.taie.ir.stmt.StmtVisitor;
+import pascal.taie.ir.stmt.Stmt;
 import pascal.taie.ir.stmt.StoreArray;
 import pascal.taie.ir.stmt.StoreField;
 import pascal.taie.language.classes.JField;
 import pascal.taie.language.classes.JMethod;
 import pascal.taie.language.type.Type;
+import pascal.taie.util.AnalysisException;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.MultiMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Solver {
 
     private static final Logger logger = LogManager.getLogger(Solver.class);
 
+    /**
+     * Default value of option "parallel-threshold".
+     */
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+
     private final AnalysisOptions options;
 
     private final HeapModel heapModel;
@@ -82,13 +102,54 @@ public class Solver {
 
     private WorkList workList;
 
+    /**
+     * Whether merge the pointers in PFG cycles.
+     */
+    private boolean collapseCycles;
+
+    /**
+     * PFG edges that have been checked by lazy cycle detection.
+     */
+    private MultiMap<Pointer, Pointer> checkedEdges;
+
+    /**
+     * Filters objects propagated along PFG edges by types,
+     * null if type filtering is disabled.
+     */
+    private TypeFilter typeFilter;
+
+    /**
+     * Cached plans of the statements to process for reachable methods.
+     */
+    private Map<JMethod, MethodPlan> plans;
+
     private TaintAnalysiss taintAnalysis;
 
     private PointerAnalysisResult result;
 
+    /**
+     * Counters and timers of this run. This is null if option
+     * "metrics" is disabled.
+     */
+    private SolverMetrics metrics;
+
+    /**
+     * Number of threads for propagating points-to sets.
+     */
+    private final int threads;
+
+    /**
+     * Rounds with fewer pointers than this threshold are not worth
+     * being processed in parallel.
+     */
+    private final int parallelThreshold;
+
     Solver(AnalysisOptions options, HeapModel heapModel,
            ContextSelector contextSelector) {
         this.options = options;
+        this.threads = options.get("threads") instanceof Integer n ? n : 1;
+        this.parallelThreshold = options.get("parallel-threshold") instanceof Integer n ?
+                n : DEFAULT_PARALLEL_THRESHOLD;
         this.heapModel = heapModel;
         this.contextSelector = contextSelector;
     }
@@ -107,16 +168,52 @@ public class Solver {
 
     void solve() {
         initialize();
-        analyze();
-        taintAnalysis.onFinish();
+        if (threads > 1) {
+            analyzeInParallel();
+        } else {
+            analyze();
+        }
+        if (taintAnalysis != null) {
+            startTimer(SolverMetrics.Phase.TAINT);
+            taintAnalysis.onFinish();
+            stopTimer(SolverMetrics.Phase.TAINT);
+        }
+    }
+
+    /**
+     * @param kind "map" (default) for hash-based lookups of
+     *             context-sensitive elements, or "array" for lookups
+     *             by dense ids of contexts, variables, objects and methods.
+     */
+    private static CSManager makeCSManager(String kind) {
+        if (kind == null || kind.equals("map")) {
+            return new MapBasedCSManager();
+        } else if (kind.equals("array")) {
+            return new ArrayBasedCSManager();
+        } else {
+            throw new ConfigException("Unexpected cs-manager: " + kind);
+        }
     }
 
     private void initialize() {
-        csManager = new MapBasedCSManager();
+        // points-to set representation: hybrid (default) | bit-vector
+        PointsToSetFactory.setKind(options.getString("points-to-set"));
+        csManager = makeCSManager(options.getString("cs-manager"));
         callGraph = new CSCallGraph(csManager);
-        pointerFlowGraph = new PointerFlowGraph();
-        workList = new WorkList();
-        taintAnalysis = new TaintAnalysiss(this);
+        pointerFlowGraph = new PointerFlowGraph(
+                options.getBooleanOrDefault("compact-pfg", false));
+        collapseCycles = options.getBooleanOrDefault("collapse-cycles", false);
+        checkedEdges = Maps.newMultiMap();
+        plans = Maps.newMap();
+        typeFilter = options.getBooleanOrDefault("type-filter", false)
+                ? new TypeFilter(World.get().getTypeSystem()) : null;
+        workList = options.getBooleanOrDefault("coalesce-work-list", false)
+                ? new CoalescingWorkList() : new FifoWorkList();
+        metrics = options.getBooleanOrDefault("metrics", false)
+                ? new SolverMetrics() : null;
+        // taint analysis is enabled only when its config is given
+        taintAnalysis = options.getString("taint-config") != null
+                ? new TaintAnalysiss(this) : null;
         // process program entry, i.e., main method
         Context defContext = contextSelector.getEmptyContext();
         JMethod main = World.get().getMainMethod();
@@ -130,81 +227,49 @@ public class Solver {
      */
     private void addReachable(CSMethod csMethod) {
         // TODO - finish me
+        startTimer(SolverMetrics.Phase.ADD_REACHABLE);
         if (callGraph.addReachableMethod(csMethod)) {
-            csMethod.getMethod().getIR().forEach(stmt -> {
-                StmtProcessor stmtprocess = new StmtProcessor(csMethod);
-                stmt.accept(stmtprocess);//依旧使用访问者模式
-            });
+            processStmts(csMethod);
         }
+        stopTimer(SolverMetrics.Phase.ADD_REACHABLE);
     }
 
     /**
-     * Processes the statements in context-sensitive new reachable methods.
+     * Processes the statements of a reachable method that do not
+     * depend on points-to sets.
      */
-    private class StmtProcessor implements StmtVisitor<Void> {
-
-        private final CSMethod csMethod;
-
-        private final Context context;
-
-        private StmtProcessor(CSMethod csMethod) {
-            this.csMethod = csMethod;
-            this.context = csMethod.getContext();
-        }
-
-        // TODO - if you choose to implement addReachable()
-        //  via visitor pattern, then finish me
-        // 1. New x = new T() -> add <c: x, {c: o_i}> to Wl
-        @Override
-        public Void visit(New stmt) {
-            // 1.1 get the c: x
-            Pointer pointer = csManager.getCSVar(context, stmt.getLValue());
-            // 1.2 get the c : o_i
-            Obj newT = heapModel.getObj(stmt); // get o_i
-            // These two c's are different, the c of c: o_i is k-1 -> 堆上下文不一定就使用方法的上下文,需要用 ContextSelector选择
-            Context heapContext = contextSelector.selectHeapContext(csMethod, newT);
-            // get c: o_i due to the heap context
-            CSObj csObj = csManager.getCSObj(heapContext, newT);
-            PointsToSet pointsToSet = PointsToSetFactory.make(csObj);
-            workList.addEntry(pointer, pointsToSet);
-            return StmtVisitor.super.visit(stmt);
-        }
-
-        // 2. Copy x = y
-        @Override
-        public Void visit(Copy stmt) {
-            Pointer target = csManager.getCSVar(context, stmt.getLValue());
-            Pointer source = csManager.getCSVar(context, stmt.getRValue());
-            addPFGEdge(source, target);
-            return StmtVisitor.super.visit(stmt);
-        }
-
-        // 3. x = y.f
-        @Override
-        public Void visit(LoadField stmt) {
-            if (!stmt.isStatic()) return null;
-            Var x = stmt.getLValue();
-            JField f = stmt.getFieldRef().resolve();
-            addPFGEdge(csManager.getStaticField(f), csManager.getCSVar(context, x));
-            return StmtVisitor.super.visit(stmt);
-        }
-
-        // 4. x.f = y
-        @Override
-        public Void visit(StoreField stmt) {
-            if (!stmt.isStatic()) return null;
-            JField f = stmt.getFieldRef().resolve();
-            Var y = stmt.getRValue();
-            addPFGEdge(csManager.getCSVar(context, y), csManager.getStaticField(f));
-            return StmtVisitor.super.visit(stmt);
-        }
-
-        // 5. y = x.m(...) 静态方法处理
-        @Override
-        public Void visit(Invoke stmt) {
-            if (!stmt.isStatic()) return null;
-            processEachCall(stmt, context, null, null);
-            return StmtVisitor.super.visit(stmt);
+    private void processStmts(CSMethod csMethod) {
+        // replays the cached plan of the method, instead of visiting
+        // all statements of the method for each of its contexts
+        MethodPlan plan = plans.computeIfAbsent(csMethod.getMethod(),
+                m -> MethodPlan.build(m, heapModel));
+        Context context = csMethod.getContext();
+        for (int i = 0; i < plan.size(); ++i) {
+            Stmt stmt = plan.stmts[i];
+            switch (plan.kinds[i]) {
+                case MethodPlan.NEW -> {
+                    // x = new T(): add <c:x, {c':o_i}> to WL,
+                    // where c' is selected as the heap context
+                    Obj obj = (Obj) plan.operands[i];
+                    Context heapContext = contextSelector.selectHeapContext(csMethod, obj);
+                    workList.addEntry(
+                            csManager.getCSVar(context, ((New) stmt).getLValue()),
+                            PointsToSetFactory.make(csManager.getCSObj(heapContext, obj)));
+                }
+                case MethodPlan.COPY -> {
+                    Copy copy = (Copy) stmt;
+                    addPFGEdge(csManager.getCSVar(context, copy.getRValue()),
+                            csManager.getCSVar(context, copy.getLValue()));
+                }
+                case MethodPlan.LOAD_STATIC -> addPFGEdge(
+                        csManager.getStaticField((JField) plan.operands[i]),
+                        csManager.getCSVar(context, ((LoadField) stmt).getLValue()));
+                case MethodPlan.STORE_STATIC -> addPFGEdge(
+                        csManager.getCSVar(context, ((StoreField) stmt).getRValue()),
+                        csManager.getStaticField((JField) plan.operands[i]));
+                case MethodPlan.INVOKE_STATIC ->
+                        processEachCall((Invoke) stmt, context, null, null);
+            }
         }
     }
 
@@ -216,8 +281,19 @@ public class Solver {
         // 1. if s -> t not belong PFG and add it
         if (pointerFlowGraph.addEdge(source, target)) {
             // 2. if pt(s) is not empty, add <t, pt(s)> to Wl
-            if (!source.getPointsToSet().isEmpty()) {
-                workList.addEntry(target, source.getPointsToSet());
+            PointsToSet pts = source.getPointsToSet();
+            if (typeFilter != null) {
+                pts = typeFilter.filter(pts, target.getType());
+            }
+            if (!pts.isEmpty()) {
+                if (threads > 1 && pts == source.getPointsToSet()) {
+                    // pt(s) may be updated in parallel with
+                    // the propagation of this entry, thus add a copy
+                    PointsToSet copy = PointsToSetFactory.make();
+                    copy.addAll(pts);
+                    pts = copy;
+                }
+                workList.addEntry(target, pts);
             }
         }
     }
@@ -229,72 +305,276 @@ public class Solver {
         // TODO - finish me
         while (!workList.isEmpty()) {
             // 1. remove <n,pts> from WL
+            if (metrics != null) {
+                metrics.onPoll(workList.size());
+            }
             WorkList.Entry entry = workList.pollEntry();
-            Pointer n = entry.pointer();
+            // the pointers merged by cycle collapsing are processed
+            // via the representative of their PFG node
+            Pointer rep = pointerFlowGraph.getRepresentative(entry.pointer());
             PointsToSet pts = entry.pointsToSet();
             // 2. get the Δ
-            PointsToSet delta = propagate(n, pts);
+            PointsToSet delta = propagate(rep, pts);
+            if (delta.isEmpty()) {
+                if (collapseCycles) {
+                    detectCycles(rep);
+                }
+                continue;
+            }
+            processDelta(rep, delta);
+        }
+    }
+
+    /**
+     * Processes work-list entries until the work-list is empty, with
+     * multiple threads. The work list is drained in rounds: in each round,
+     * the entries of the same pointer are grouped together, then the
+     * points-to sets of the pointers are updated in parallel (each pointer
+     * is updated by only one thread), and finally the differences are
+     * processed in the order of the entries by the calling thread,
+     * which is the only thread that modifies the PFG, the call graph and
+     * the work list. Thus, the results are the same as {@link #analyze()}.
+     * <p>
+     * All points-to sets in the work list are made by
+     * {@link PointsToSetFactory} on the calling thread, so the objects
+     * in them have been indexed (for bit-vector points-to sets) before
+     * the round starts. Hence, the parallel unions never assign new
+     * indexes to objects, and read the indexes assigned before
+     * the tasks are submitted.
+     */
+    private void analyzeInParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            while (!workList.isEmpty()) {
+                // 1. remove all entries from WL, grouped by pointers
+                Map<Pointer, List<PointsToSet>> round = new LinkedHashMap<>();
+                while (!workList.isEmpty()) {
+                    if (metrics != null) {
+                        metrics.onPoll(workList.size());
+                    }
+                    WorkList.Entry entry = workList.pollEntry();
+                    round.computeIfAbsent(
+                            pointerFlowGraph.getRepresentative(entry.pointer()),
+                            p -> new ArrayList<>()).add(entry.pointsToSet());
+                }
+                // 2. get the Δ of each pointer in parallel
+                startTimer(SolverMetrics.Phase.PROPAGATE);
+                List<Pointer> pointers = new ArrayList<>(round.keySet());
+                PointsToSet[] deltas = new PointsToSet[pointers.size()];
+                if (pointers.size() < parallelThreshold) {
+                    for (int i = 0; i < deltas.length; ++i) {
+                        deltas[i] = union(pointers.get(i), round.get(pointers.get(i)));
+                    }
+                } else {
+                    List<Callable<Void>> tasks = new ArrayList<>(threads);
+                    for (int t = 0; t < threads; ++t) {
+                        int first = t;
+                        tasks.add(() -> {
+                            for (int i = first; i < deltas.length; i += threads) {
+                                deltas[i] = union(pointers.get(i), round.get(pointers.get(i)));
+                            }
+                            return null;
+                        });
+                    }
+                    for (Future<Void> future : executor.invokeAll(tasks)) {
+                        future.get();
+                    }
+                }
+                stopTimer(SolverMetrics.Phase.PROPAGATE);
+                // 3. propagate Δ to successors and process it, sequentially
+                for (int i = 0; i < deltas.length; ++i) {
+                    Pointer rep = pointerFlowGraph.getRepresentative(pointers.get(i));
+                    PointsToSet delta = deltas[i];
+                    if (metrics != null) {
+                        metrics.onPropagate(delta.size());
+                    }
+                    if (delta.isEmpty()) {
+                        if (collapseCycles) {
+                            detectCycles(rep);
+                        }
+                        continue;
+                    }
+                    startTimer(SolverMetrics.Phase.PROPAGATE);
+                    propagateToSuccs(rep, delta);
+                    stopTimer(SolverMetrics.Phase.PROPAGATE);
+                    processDelta(rep, delta);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalysisException("Parallel pointer analysis is interrupted", e);
+        } catch (ExecutionException e) {
+            throw new AnalysisException("Parallel pointer analysis failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Unions the given points-to sets into pt(pointer). This method
+     * does not modify anything but pt(pointer), so that it can be called
+     * for different pointers in parallel.
+     *
+     * @return the difference of the given sets and pt(pointer).
+     */
+    private static PointsToSet union(Pointer pointer, List<PointsToSet> sets) {
+        PointsToSet delta = pointer.getPointsToSet().addAllDiff(sets.get(0));
+        for (PointsToSet pts : sets.subList(1, sets.size())) {
+            delta.addAll(pointer.getPointsToSet().addAllDiff(pts));
+        }
+        return delta;
+    }
+
+    /**
+     * Processes the difference of a PFG node, i.e., the new objects
+     * pointed by all pointers merged into the node.
+     */
+    private void processDelta(Pointer rep, PointsToSet delta) {
+        for (Pointer n : pointerFlowGraph.getMembers(rep)) {
             // 检测 delta 中含有的 taint object，同时基于 "污点传播边" 向后继节点传播这些 taint object
-            taintAnalysis.propagate(n, delta);
+            if (taintAnalysis != null) {
+                startTimer(SolverMetrics.Phase.TAINT);
+                taintAnalysis.propagate(n, delta);
+                stopTimer(SolverMetrics.Phase.TAINT);
+            }
             // 3. if n represents a variable x then
             if (n instanceof CSVar csVar) {
-                // 3.1 foreach oi in Δ do
-                Var x = csVar.getVar();
-                Context c = csVar.getContext();
-                if (delta.isEmpty()) continue;
-                delta.getObjects().forEach(csObj -> {
-                    // 3.1.1 foreach y = x.f in S do
-                    x.getLoadFields().forEach(loadField -> {
-                        Var y = loadField.getLValue();
-                        JField f = loadField.getFieldRef().resolve();
-                        addPFGEdge(csManager.getInstanceField(csObj, f), csManager.getCSVar(c, y));
-                    });
-                    // 3.1.2 foreach x.f = y in S do
-                    x.getStoreFields().forEach(storeField -> {
-                        JField f = storeField.getFieldRef().resolve();
-                        Var y = storeField.getRValue();
-                        addPFGEdge(csManager.getCSVar(c, y), csManager.getInstanceField(csObj, f));
-                    });
-                    // 3.1.3 foreach y = x[*] in S do
-                    x.getLoadArrays().forEach(loadArray -> {
-                        Var y = loadArray.getLValue();
-                        addPFGEdge(csManager.getArrayIndex(csObj), csManager.getCSVar(c, y));
-                    });
-                    // 3.1.4 foreach x[*] = y in S do
-                    x.getStoreArrays().forEach(storeArray -> {
-                        Var y = storeArray.getRValue();
-                        addPFGEdge(csManager.getCSVar(c, y), csManager.getArrayIndex(csObj));
-                    });
-                    // 3.1.5 foreach y = x.m(...) in S do
-                    processCall(csVar, csObj);   // csVar 等同于 csManager.getCSVar(c, x)
-                });
+                processNewObjects(csVar, delta);
             }
         }
     }
 
+    /**
+     * Processes the new objects pointed by a variable.
+     *
+     * @param csVar the variable
+     * @param delta set of new discovered objects pointed by the variable.
+     */
+    private void processNewObjects(CSVar csVar, PointsToSet delta) {
+        // 3.1 foreach oi in Δ do
+        Var x = csVar.getVar();
+        Context c = csVar.getContext();
+        delta.getObjects().forEach(csObj -> {
+            // 3.1.1 foreach y = x.f in S do
+            x.getLoadFields().forEach(loadField -> {
+                Var y = loadField.getLValue();
+                JField f = loadField.getFieldRef().resolve();
+                addPFGEdge(csManager.getInstanceField(csObj, f), csManager.getCSVar(c, y));
+            });
+            // 3.1.2 foreach x.f = y in S do
+            x.getStoreFields().forEach(storeField -> {
+                JField f = storeField.getFieldRef().resolve();
+                Var y = storeField.getRValue();
+                addPFGEdge(csManager.getCSVar(c, y), csManager.getInstanceField(csObj, f));
+            });
+            // 3.1.3 foreach y = x[*] in S do
+            x.getLoadArrays().forEach(loadArray -> {
+                Var y = loadArray.getLValue();
+                addPFGEdge(csManager.getArrayIndex(csObj), csManager.getCSVar(c, y));
+            });
+            // 3.1.4 foreach x[*] = y in S do
+            x.getStoreArrays().forEach(storeArray -> {
+                Var y = storeArray.getRValue();
+                addPFGEdge(csManager.getCSVar(c, y), csManager.getArrayIndex(csObj));
+            });
+            // 3.1.5 foreach y = x.m(...) in S do
+            processCall(csVar, csObj);   // csVar 等同于 csManager.getCSVar(c, x)
+        });
+    }
+
+    /**
+     * Lazy cycle detection: when propagating to a pointer changes nothing,
+     * and one of its successors has the same points-to set, they are
+     * likely in a cycle. Then searches cycles from the successor, and
+     * merges the pointers in each found cycle. Each edge is checked once.
+     */
+    private void detectCycles(Pointer rep) {
+        PointsToSet pts = rep.getPointsToSet();
+        if (pts.isEmpty()) {
+            return;
+        }
+        Pointer start = null;
+        for (Pointer succ : pointerFlowGraph.getSuccsOf(rep)) {
+            PointsToSet succPts = succ.getPointsToSet();
+            if (succPts.size() == pts.size()
+                    && checkedEdges.put(rep, succ)
+                    && pts.objects().allMatch(succPts::contains)) {
+                start = succ;
+                break;
+            }
+        }
+        if (start != null) {
+            pointerFlowGraph.findSCCs(start).forEach(this::collapseCycle);
+        }
+    }
+
+    /**
+     * Merges the pointers in a cycle, so that they share one points-to set.
+     * As their previous points-to sets may differ, each of them is first
+     * brought up to the union of the sets, which propagates to its
+     * successors and processes only the objects it was missing, and then
+     * the union is shared by the merged node.
+     */
+    private void collapseCycle(List<Pointer> cycle) {
+        if (typeFilter != null && cycle.stream()
+                .map(Pointer::getType).distinct().count() > 1) {
+            // pointers of different types may have different points-to
+            // sets under type filtering, so they cannot be merged
+            return;
+        }
+        PointsToSet union = PointsToSetFactory.make();
+        cycle.forEach(p -> union.addAll(p.getPointsToSet()));
+        for (Pointer p : cycle) {
+            PointsToSet delta = propagate(p, union);
+            if (!delta.isEmpty()) {
+                processDelta(p, delta);
+            }
+        }
+        Pointer rep = pointerFlowGraph.mergeNodes(cycle);
+        PointsToSet shared = rep.getPointsToSet();
+        pointerFlowGraph.getMembers(rep).forEach(p -> p.setPointsToSet(shared));
+        if (metrics != null) {
+            metrics.onCollapse(cycle.size() - 1);
+        }
+        logger.debug("Merged {} pointers in a PFG cycle into {}",
+                cycle.size(), rep);
+    }
+
     /**
      * Propagates pointsToSet to pt(pointer) and its PFG successors,
      * returns the difference set of pointsToSet and pt(pointer).
      */
     private PointsToSet propagate(Pointer pointer, PointsToSet pointsToSet) {
         // TODO - finish me
-        // 1. pts is not empty
-        PointsToSet delta = PointsToSetFactory.make();
-        if (pointsToSet.isEmpty()) return delta;
-        // 2. Δ = pts - pt(n) and pt(n) U= pts
-        pointsToSet.forEach(csObj -> {
-            if (pointer.getPointsToSet().addObject(csObj)) {// Statement has been added with addObject
-                delta.addObject(csObj);
-            }
-        });
-        // 3. foreach m in succ(n) do
-        if (delta.isEmpty()) return delta; // prevent point to empty set(delta)
-        pointerFlowGraph.getSuccsOf(pointer).forEach(suc -> {
-            workList.addEntry(suc, delta);
-        });
+        startTimer(SolverMetrics.Phase.PROPAGATE);
+        // 1. Δ = pts - pt(n) and pt(n) U= pts, in a single pass
+        PointsToSet delta = pointer.getPointsToSet().addAllDiff(pointsToSet);
+        // 2. foreach m in succ(n) do, all successors share the same Δ
+        if (!delta.isEmpty()) {
+            propagateToSuccs(pointer, delta);
+        }
+        stopTimer(SolverMetrics.Phase.PROPAGATE);
+        if (metrics != null) {
+            metrics.onPropagate(delta.size());
+        }
         return delta;
     }
 
+    /**
+     * Adds the difference of a pointer to the work list for each of
+     * its PFG successors. If type filtering is enabled, the objects that
+     * cannot be pointed by a successor are not propagated to it.
+     */
+    private void propagateToSuccs(Pointer pointer, PointsToSet delta) {
+        for (Pointer suc : pointerFlowGraph.getSuccsOf(pointer)) {
+            PointsToSet pts = typeFilter == null ? delta
+                    : typeFilter.filter(delta, suc.getType());
+            if (!pts.isEmpty()) {
+                workList.addEntry(suc, pts);
+            }
+        }
+    }
+
     /**
      * Processes instance calls when points-to set of the receiver variable changes.
      *
@@ -316,6 +596,7 @@ public class Solver {
         JMethod jMethod = resolveCallee(recvObj, callSite);
         // 忽略静态调用和动态调用以外的调用
         if (jMethod == null) return;
+        startTimer(SolverMetrics.Phase.PROCESS_CALL);
         CSCallSite csCallSite = csManager.getCSCallSite(context, callSite);
         Context c_t;
         if (recv == null) {   // 静态调用
@@ -332,7 +613,12 @@ public class Solver {
         // All 1. get c_t: m
         CSMethod ctMethod = csManager.getCSMethod(c_t, jMethod);
         // All 2. if c: l -> c_t: m is not in CG then
-        if (callGraph.addEdge(new Edge<>(CallGraphs.getCallKind(callSite), csCallSite, ctMethod))) {
+        boolean newEdge = callGraph.addEdge(
+                new Edge<>(CallGraphs.getCallKind(callSite), csCallSite, ctMethod));
+        if (newEdge && metrics != null) {
+            metrics.onCallEdge();
+        }
+        if (newEdge) {
             // All 3. add reachable(c_t: m)
             addReachable(ctMethod);
             // All 4. foreach c: ai = c_t: pi ∈ S do
@@ -347,23 +633,40 @@ public class Solver {
                     addPFGEdge(csManager.getCSVar(c_t, m_ret), csManager.getCSVar(context, callSite.getLValue()));
                 });
             }
-            // Taint 1. 若是该调用为 Source，则首先产生一个 taint object
-            // 之后增加 point(c: r) -> pointsToSet(t)，同时添加到 workList 中
-            PointsToSet pts = taintAnalysis.dealSource(callSite, jMethod);
-            if (pts != null) {
-                workList.addEntry(csManager.getCSVar(context, callSite.getLValue()), pts);
+            if (taintAnalysis != null) {
+                startTimer(SolverMetrics.Phase.TAINT);
+                // Taint 1. 若是该调用为 Source，则首先产生一个 taint object
+                // 之后增加 point(c: r) -> pointsToSet(t)，同时添加到 workList 中
+                PointsToSet pts = taintAnalysis.dealSource(callSite, jMethod);
+                if (pts != null) {
+                    workList.addEntry(csManager.getCSVar(context, callSite.getLValue()), pts);
+                }
+                // Taint 2. 若是调用为 sink，则添加 sink 点，从而获得所有的 CSCallSite
+                taintAnalysis.dealSinkCallSite(csCallSite, jMethod);
+                // Taint 3. 对于污点的传播进行处理，根据三种不同的规则将 taint 从一些变量传播到另外一些变量中
+                taintAnalysis.dealTaintTransfer(csCallSite, jMethod, recv);
+                stopTimer(SolverMetrics.Phase.TAINT);
             }
-            // Taint 2. 若是调用为 sink，则添加 sink 点，从而获得所有的 CSCallSite
-            taintAnalysis.dealSinkCallSite(csCallSite, jMethod);
-            // Taint 3. 对于污点的传播进行处理，根据三种不同的规则将 taint 从一些变量传播到另外一些变量中
-            taintAnalysis.dealTaintTransfer(csCallSite, jMethod, recv);
         }
+        stopTimer(SolverMetrics.Phase.PROCESS_CALL);
     }
 
     public void addWorkList(Pointer pointer, PointsToSet pointsToSet) {
         workList.addEntry(pointer, pointsToSet);
     }
 
+    private void startTimer(SolverMetrics.Phase phase) {
+        if (metrics != null) {
+            metrics.start(phase);
+        }
+    }
+
+    private void stopTimer(SolverMetrics.Phase phase) {
+        if (metrics != null) {
+            metrics.stop(phase);
+        }
+    }
+
     /**
      * Resolves the callee of a call site with the receiver object.
      *
@@ -380,6 +683,12 @@ public class Solver {
     public PointerAnalysisResult getResult() {
         if (result == null) {
             result = new PointerAnalysisResultImpl(csManager, callGraph);
+            PFGStatistics pfg = pointerFlowGraph.getStatistics();
+            result.storeResult(PFGStatistics.KEY, pfg);
+            if (metrics != null) {
+                metrics.setPFGStatistics(pfg);
+                result.storeResult(SolverMetrics.KEY, metrics);
+            }
         }
         return result;
     }
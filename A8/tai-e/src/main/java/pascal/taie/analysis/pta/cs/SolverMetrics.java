@@ -0,0 +1,200 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Counters and timers of a run of {@link Solver}, which are recorded
+ * if option "metrics" is enabled. They are stored in the pointer
+ * analysis result by key {@link #KEY}.
+ * <p>
+ * The time of a phase is the total time of its outermost executions,
+ * i.e., a recursive execution (e.g., a method made reachable when adding
+ * another reachable method) is not counted twice. Different phases may
+ * overlap, e.g., the time of processing (static and instance) calls
+ * includes the time of adding reachable methods and taint hooks
+ * during the calls.
+ */
+public class SolverMetrics {
+
+    public static final String KEY = "solver-metrics";
+
+    /**
+     * Timed phases of the solver.
+     */
+    public enum Phase {
+        ADD_REACHABLE("addReachable"),
+        PROPAGATE("propagate"),
+        PROCESS_CALL("processCall"),
+        TAINT("taint");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private long workListEntries;
+
+    private int peakWorkListSize;
+
+    private long propagatedObjects;
+
+    private long callEdges;
+
+    private long collapsedPointers;
+
+    private PFGStatistics pfg;
+
+    private final long[] nanos = new long[PHASES.length];
+
+    private final long[] starts = new long[PHASES.length];
+
+    private final int[] depths = new int[PHASES.length];
+
+    /**
+     * Records that an entry is polled from the work list.
+     *
+     * @param size size of the work list before polling.
+     */
+    void onPoll(int size) {
+        ++workListEntries;
+        peakWorkListSize = Math.max(peakWorkListSize, size);
+    }
+
+    /**
+     * Records that objects are propagated to a pointer.
+     *
+     * @param objects number of the objects newly pointed by the pointer.
+     */
+    void onPropagate(int objects) {
+        propagatedObjects += objects;
+    }
+
+    void onCallEdge() {
+        ++callEdges;
+    }
+
+    /**
+     * Records that pointers in a PFG cycle are merged.
+     *
+     * @param pointers number of the pointers merged into the representative.
+     */
+    void onCollapse(int pointers) {
+        collapsedPointers += pointers;
+    }
+
+    void start(Phase phase) {
+        if (depths[phase.ordinal()]++ == 0) {
+            starts[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    void stop(Phase phase) {
+        if (--depths[phase.ordinal()] == 0) {
+            nanos[phase.ordinal()] += System.nanoTime() - starts[phase.ordinal()];
+        }
+    }
+
+    void setPFGStatistics(PFGStatistics pfg) {
+        this.pfg = pfg;
+    }
+
+    /**
+     * @return number of entries processed from the work list.
+     */
+    public long getWorkListEntries() {
+        return workListEntries;
+    }
+
+    /**
+     * @return the maximum number of entries in the work list.
+     */
+    public int getPeakWorkListSize() {
+        return peakWorkListSize;
+    }
+
+    /**
+     * @return total size of the differences propagated to pointers.
+     */
+    public long getPropagatedObjects() {
+        return propagatedObjects;
+    }
+
+    /**
+     * @return number of call edges added to the call graph.
+     */
+    public long getCallEdges() {
+        return callEdges;
+    }
+
+    /**
+     * @return number of pointers merged into other pointers
+     * by cycle collapsing.
+     */
+    public long getCollapsedPointers() {
+        return collapsedPointers;
+    }
+
+    /**
+     * @return the size of the pointer flow graph.
+     */
+    public PFGStatistics getPFGStatistics() {
+        return pfg;
+    }
+
+    /**
+     * @return time spent in the phase, in nanoseconds.
+     */
+    public long getTime(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the metrics as a JSON object, where times are in milliseconds.
+     */
+    public String toJson() {
+        StringJoiner times = new StringJoiner(", ", "{", "}");
+        for (Phase phase : PHASES) {
+            times.add(String.format(Locale.ROOT, "\"%s\": %.3f",
+                    phase.key, getTime(phase) / 1e6));
+        }
+        StringJoiner json = new StringJoiner(", ", "{", "}");
+        json.add("\"workListEntries\": " + workListEntries);
+        json.add("\"peakWorkListSize\": " + peakWorkListSize);
+        json.add("\"propagatedObjects\": " + propagatedObjects);
+        json.add("\"callEdges\": " + callEdges);
+        json.add("\"collapsedPointers\": " + collapsedPointers);
+        if (pfg != null) {
+            json.add("\"pfgNodes\": " + pfg.nodes());
+            json.add("\"pfgEdges\": " + pfg.edges());
+        }
+        json.add("\"timeMs\": " + times);
+        return json.toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.pts.PointsToSet;
+import pascal.taie.analysis.pta.pts.PointsToSetFactory;
+import pascal.taie.language.type.Type;
+import pascal.taie.language.type.TypeSystem;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.TwoKeyMap;
+
+/**
+ * Filters the objects propagated along PFG edges by the type of
+ * the target pointers, i.e., an object can flow to a pointer only
+ * if its type is a subtype of the type of the pointer.
+ */
+class TypeFilter {
+
+    private final TypeSystem typeSystem;
+
+    /**
+     * Cache of subtype checks, from (object type, pointer type)
+     * to whether the object type is a subtype of the pointer type.
+     */
+    private final TwoKeyMap<Type, Type, Boolean> subtypes = Maps.newTwoKeyMap();
+
+    TypeFilter(TypeSystem typeSystem) {
+        this.typeSystem = typeSystem;
+    }
+
+    /**
+     * @return the objects in given points-to set that can be pointed by
+     * a pointer of given type. If all objects can be pointed by the
+     * pointer, returns the given points-to set itself.
+     */
+    PointsToSet filter(PointsToSet pts, Type type) {
+        if (pts.objects().allMatch(obj -> isAssignable(obj, type))) {
+            return pts;
+        }
+        PointsToSet result = PointsToSetFactory.make();
+        for (CSObj obj : pts) {
+            if (isAssignable(obj, type)) {
+                result.addObject(obj);
+            }
+        }
+        return result;
+    }
+
+    private boolean isAssignable(CSObj obj, Type pointerType) {
+        Type objType = obj.getObject().getType();
+        if (objType.equals(pointerType)) {
+            return true;
+        }
+        return subtypes.computeIfAbsent(objType, pointerType,
+                (sub, sup) -> typeSystem.isSubtype(sup, sub));
+    }
+}
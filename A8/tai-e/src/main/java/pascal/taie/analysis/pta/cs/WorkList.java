@@ -25,37 +25,34 @@ package pascal.taie.analysis.pta.cs;
 import pascal.taie.analysis.pta.core.cs.element.Pointer;
 import pascal.taie.analysis.pta.pts.PointsToSet;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
-
 /**
  * Represents work list in pointer analysis.
+ *
+ * @see FifoWorkList
+ * @see CoalescingWorkList
  */
-class WorkList {
-
-    private final Queue<Entry> entries = new ArrayDeque<>();
+interface WorkList {
 
     /**
      * Adds an entry to the work list.
      */
-    void addEntry(Pointer pointer, PointsToSet pointsToSet) {
-        entries.add(new Entry(pointer, pointsToSet));
-    }
+    void addEntry(Pointer pointer, PointsToSet pointsToSet);
 
     /**
      * Retrieves and removes an entry from this queue, or returns null
      * if this work list is empty.
      */
-    Entry pollEntry() {
-        return entries.poll();
-    }
+    Entry pollEntry();
 
     /**
      * @return true if the work list is empty, otherwise false.
      */
-    boolean isEmpty() {
-        return entries.isEmpty();
-    }
+    boolean isEmpty();
+
+    /**
+     * @return number of entries in the work list.
+     */
+    int size();
 
     /**
      * Represents entries in the work list.
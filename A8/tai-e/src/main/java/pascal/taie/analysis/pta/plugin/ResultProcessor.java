@@ -26,26 +26,40 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pascal.taie.analysis.pta.PointerAnalysisResult;
 import pascal.taie.analysis.pta.core.cs.element.Pointer;
+import pascal.taie.analysis.pta.cs.PFGStatistics;
+import pascal.taie.analysis.pta.cs.SolverMetrics;
 import pascal.taie.analysis.pta.plugin.taint.TaintFlow;
 import pascal.taie.analysis.pta.pts.PointsToSet;
 import pascal.taie.config.AnalysisOptions;
 import pascal.taie.util.AnalysisException;
 import pascal.taie.util.collection.Streams;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
@@ -57,7 +71,9 @@ import static pascal.taie.util.collection.CollectionUtils.sum;
  * Dump points-to set to file or compare the analysis result with
  * the ones read from input file.
  * Currently, the compare functionality is mainly for testing purpose.
- * It is not efficient and not recommended applying on large program.
+ * It is not efficient and not recommended applying on large program,
+ * unless option "streaming" is enabled, which dumps and compares
+ * points-to sets without holding the whole output or input in memory.
  */
 public class ResultProcessor {
 
@@ -70,6 +86,11 @@ public class ResultProcessor {
      */
     private static final String SEP = " -> ";
 
+    /**
+     * Maximum number of pointer names that are sorted in memory at once.
+     */
+    private static final int SORT_CHUNK_SIZE = 1 << 16;
+
     private static final DecimalFormat formatter = new DecimalFormat("#,####");
 
     public static void process(AnalysisOptions options,
@@ -81,15 +102,22 @@ public class ResultProcessor {
         }
         String file = options.getString("file");
         boolean taintEnabled = options.getString("taint-config") != null;
+        boolean streaming = options.getBooleanOrDefault("streaming", false);
         switch (action) {
             case "dump":
-                dumpPointsToSet(result, file, taintEnabled);
+                if (streaming) {
+                    streamPointsToSet(result, file, taintEnabled);
+                } else {
+                    dumpPointsToSet(result, file, taintEnabled);
+                }
                 break;
             case "compare":
                 if (taintEnabled) {
                     // when taint analysis is enabled, we only compare
                     // detected taint flows
                     compareTaintFlows(result, file);
+                } else if (streaming) {
+                    compareSortedPointsToSet(result, file);
                 } else {
                     comparePointsToSet(result, file);
                 }
@@ -125,6 +153,20 @@ public class ResultProcessor {
                 format(reachableInsens), format(reachableSens));
         System.out.printf("%-30s%s (insens) / %s (sens)%n", "#call graph edges:",
                 format(callEdgeInsens), format(callEdgeSens));
+        PFGStatistics pfg = result.getResult(PFGStatistics.KEY);
+        if (pfg != null) {
+            System.out.printf("%-30s%s%n", "#PFG nodes with successors:",
+                    format(pfg.nodes()));
+            System.out.printf("%-30s%s%n", "#PFG edges:",
+                    format(pfg.edges()));
+            System.out.printf("%-30s%s bytes (estimated)%n", "PFG memory:",
+                    format(pfg.memory()));
+        }
+        SolverMetrics metrics = result.getResult(SolverMetrics.KEY);
+        if (metrics != null) {
+            System.out.printf("%-30s%s%n", "Solver metrics (JSON):",
+                    metrics.toJson());
+        }
         System.out.println("----------------------------------------");
     }
 
@@ -132,6 +174,10 @@ public class ResultProcessor {
         return formatter.format(i);
     }
 
+    private static String format(long l) {
+        return formatter.format(l);
+    }
+
     private static void dumpPointsToSet(PointerAnalysisResult result,
                                         String output, boolean taintEnabled) {
         PrintStream out;
@@ -166,6 +212,353 @@ public class ResultProcessor {
         out.println();
     }
 
+    /**
+     * Dumps points-to sets in the same format as {@link #dumpPointsToSet},
+     * but writes each line as soon as it is built, through a buffered writer.
+     * The string of each pointer is computed only once for sorting.
+     */
+    private static void streamPointsToSet(PointerAnalysisResult result,
+                                          String output, boolean taintEnabled) {
+        try {
+            BufferedWriter out;
+            if (output != null) {  // if output file is given, then dump to the file
+                out = Files.newBufferedWriter(Path.of(output));
+                logger.info("Dumping points-to set to {} ...", output);
+            } else {  // otherwise, dump to System.out
+                out = new BufferedWriter(new OutputStreamWriter(System.out));
+            }
+            try {
+                streamPointers(out, result.getCSVars(), "variables");
+                streamPointers(out, result.getStaticFields(), "static fields");
+                streamPointers(out, result.getInstanceFields(), "instance fields");
+                streamPointers(out, result.getArrayIndexes(), "array indexes");
+                if (taintEnabled) {
+                    streamTaintFlows(out, result);
+                }
+            } finally {
+                if (output != null) {
+                    out.close();
+                } else {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new AnalysisException("Failed to dump points-to set", e);
+        }
+    }
+
+    private static void streamPointers(BufferedWriter out,
+                                       Collection<? extends Pointer> pointers,
+                                       String desc) throws IOException {
+        out.write(HEADER + desc);
+        out.newLine();
+        try (SortedPointers sorted = sort(pointers)) {
+            while (sorted.hasNext()) {
+                NamedPointer p = sorted.next();
+                out.write(p.name());
+                out.write(SEP);
+                out.write(toString(p.pointer().getPointsToSet()));
+                out.newLine();
+            }
+        }
+        out.newLine();
+    }
+
+    /**
+     * Pointer with its string representation.
+     */
+    private record NamedPointer(String name, Pointer pointer) {
+    }
+
+    /**
+     * @return the given pointers in the order of their names. The names
+     * are sorted in chunks of {@link #SORT_CHUNK_SIZE}, and all chunks
+     * except the last one are spilled to temporary files, so that at most
+     * one chunk of names is held in memory. The chunks are merged when
+     * the returned pointers are iterated.
+     */
+    private static SortedPointers sort(Collection<? extends Pointer> pointers)
+            throws IOException {
+        return new SortedPointers(pointers.toArray(new Pointer[0]));
+    }
+
+    /**
+     * Pointers merged from the sorted chunks of their names.
+     * It should be closed to delete the spilled chunks.
+     */
+    private static class SortedPointers implements Iterator<NamedPointer>, Closeable {
+
+        private final Pointer[] pointers;
+
+        private final List<Chunk> allChunks = new ArrayList<>();
+
+        /**
+         * Non-exhausted chunks, ordered by their current names.
+         */
+        private final PriorityQueue<Chunk> chunks =
+                new PriorityQueue<>(Comparator.comparing(Chunk::name));
+
+        private SortedPointers(Pointer[] pointers) throws IOException {
+            this.pointers = pointers;
+            try {
+                for (int start = 0; start < pointers.length; start += SORT_CHUNK_SIZE) {
+                    int end = Math.min(start + SORT_CHUNK_SIZE, pointers.length);
+                    List<IndexedName> names = new ArrayList<>(end - start);
+                    for (int i = start; i < end; ++i) {
+                        names.add(new IndexedName(pointers[i].toString(), i));
+                    }
+                    names.sort(Comparator.comparing(IndexedName::name));
+                    Chunk chunk = end == pointers.length ?
+                            new MemoryChunk(names) : FileChunk.spill(names);
+                    allChunks.add(chunk);
+                    if (chunk.advance()) {
+                        chunks.add(chunk);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !chunks.isEmpty();
+        }
+
+        @Override
+        public NamedPointer next() {
+            Chunk chunk = chunks.poll();
+            if (chunk == null) {
+                throw new NoSuchElementException();
+            }
+            NamedPointer p = new NamedPointer(chunk.name, pointers[chunk.index]);
+            try {
+                if (chunk.advance()) {
+                    chunks.add(chunk);
+                }
+            } catch (IOException e) {
+                throw new AnalysisException("Failed to read sorted pointers", e);
+            }
+            return p;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Chunk chunk : allChunks) {
+                chunk.close();
+            }
+        }
+    }
+
+    /**
+     * Name of the pointer at given index of the pointers being sorted.
+     */
+    private record IndexedName(String name, int index) {
+    }
+
+    /**
+     * Sorted names of a chunk of pointers, which are read one by one.
+     */
+    private abstract static class Chunk implements Closeable {
+
+        String name;
+
+        int index;
+
+        String name() {
+            return name;
+        }
+
+        /**
+         * Moves to the next name in this chunk.
+         *
+         * @return false if this chunk is exhausted, otherwise true.
+         */
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static class MemoryChunk extends Chunk {
+
+        private final Iterator<IndexedName> names;
+
+        private MemoryChunk(List<IndexedName> names) {
+            this.names = names.iterator();
+        }
+
+        @Override
+        boolean advance() {
+            if (!names.hasNext()) {
+                return false;
+            }
+            IndexedName next = names.next();
+            name = next.name();
+            index = next.index();
+            return true;
+        }
+    }
+
+    /**
+     * Chunk spilled to a temporary file, where each name is written as
+     * its length and UTF-8 bytes, followed by the index of the pointer.
+     */
+    private static class FileChunk extends Chunk {
+
+        private final Path file;
+
+        private final DataInputStream in;
+
+        private int remaining;
+
+        private FileChunk(Path file, int size) throws IOException {
+            this.file = file;
+            this.in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(file)));
+            this.remaining = size;
+        }
+
+        private static FileChunk spill(List<IndexedName> names) throws IOException {
+            Path file = Files.createTempFile("pointers", ".chunk");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file)))) {
+                for (IndexedName name : names) {
+                    byte[] bytes = name.name().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                    out.writeInt(name.index());
+                }
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new FileChunk(file, names.size());
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            --remaining;
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            index = in.readInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Compares points-to sets with the ones read from input file, which
+     * should be dumped by this class, so that the pointers of each kind
+     * are sorted. The sorted pointers of each kind are merge-joined with
+     * the lines in the input file, thus the input file is read line by line,
+     * and the points-to set of each pointer is converted to string only
+     * when it is compared.
+     */
+    private static void compareSortedPointsToSet(PointerAnalysisResult result, String input) {
+        logger.info("Comparing points-to set with {} ...", input);
+        List<String> mismatches = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(input))) {
+            LineReader in = new LineReader(reader);
+            compareSorted(in, result.getCSVars(), "variables", mismatches);
+            compareSorted(in, result.getStaticFields(), "static fields", mismatches);
+            compareSorted(in, result.getInstanceFields(), "instance fields", mismatches);
+            compareSorted(in, result.getArrayIndexes(), "array indexes", mismatches);
+        } catch (IOException e) {
+            throw new AnalysisException(
+                    "Failed to read points-to set from " + input, e);
+        }
+        if (!mismatches.isEmpty()) {
+            throw new AnalysisException("Mismatches of points-to set\n" +
+                    String.join("\n", mismatches));
+        }
+    }
+
+    private static void compareSorted(LineReader in,
+                                      Collection<? extends Pointer> pointers,
+                                      String desc, List<String> mismatches)
+            throws IOException {
+        // skip to the section of given kind of pointers
+        String header = HEADER + desc;
+        while (in.peek() != null && !in.peek().equals(header)) {
+            in.next();
+        }
+        in.next();
+        try (SortedPointers sorted = sort(pointers)) {
+            while (sorted.hasNext()) {
+                NamedPointer p = sorted.next();
+                // the pointers before p in input file are absent in the result
+                while (isEntry(in.peek()) && key(in.peek()).compareTo(p.name()) < 0) {
+                    String line = in.next();
+                    mismatches.add(String.format("%s, expected: %s, given: null",
+                            key(line), value(line)));
+                }
+                String expected = null;
+                if (isEntry(in.peek()) && key(in.peek()).equals(p.name())) {
+                    expected = value(in.next());
+                }
+                String given = toString(p.pointer().getPointsToSet());
+                if (!given.equals(expected)) {
+                    mismatches.add(String.format("%s, expected: %s, given: %s",
+                            p.name(), expected, given));
+                }
+            }
+        }
+        while (isEntry(in.peek())) {
+            String line = in.next();
+            mismatches.add(String.format("%s, expected: %s, given: null",
+                    key(line), value(line)));
+        }
+    }
+
+    private static boolean isEntry(String line) {
+        return line != null && line.contains(SEP);
+    }
+
+    private static String key(String entry) {
+        return entry.substring(0, entry.indexOf(SEP));
+    }
+
+    private static String value(String entry) {
+        return entry.substring(entry.indexOf(SEP) + SEP.length());
+    }
+
+    /**
+     * Line reader that can look at the next line without consuming it.
+     */
+    private static class LineReader {
+
+        private final BufferedReader reader;
+
+        private String next;
+
+        private LineReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            this.next = reader.readLine();
+        }
+
+        private String peek() {
+            return next;
+        }
+
+        private String next() throws IOException {
+            String line = next;
+            next = reader.readLine();
+            return line;
+        }
+    }
+
     private static void comparePointsToSet(PointerAnalysisResult result, String input) {
         logger.info("Comparing points-to set with {} ...", input);
         var inputs = readPointsToSets(input);
@@ -229,6 +622,18 @@ public class ResultProcessor {
         out.println();
     }
 
+    private static void streamTaintFlows(BufferedWriter out,
+                                         PointerAnalysisResult result) throws IOException {
+        Set<TaintFlow> taintFlows = getTaintFlows(result);
+        out.write(String.format("Detected %d taint flow(s):", taintFlows.size()));
+        out.newLine();
+        for (TaintFlow taintFlow : taintFlows) {
+            out.write(taintFlow.toString());
+            out.newLine();
+        }
+        out.newLine();
+    }
+
     /**
      * @return taint analysis result.
      */
@@ -97,6 +97,12 @@ public class TaintAnalysiss {
 
     private TaintFlowGraph taintFlowGraph;
 
+    /**
+     * If true, only propagates the taint objects of the pointers that
+     * have successors in TFG, see {@link #propagateSparsely}.
+     */
+    private final boolean sparse;
+
     public TaintAnalysiss(Solver solver) {
         manager = new TaintManager();
         this.solver = solver;
@@ -110,18 +116,17 @@ public class TaintAnalysiss {
 
         sinkCallSites = new ArrayList<>();
         taintFlowGraph = new TaintFlowGraph();
+        sparse = solver.getOptions().getBooleanOrDefault("sparse-taint", false);
     }
 
     // TODO - finish me
     // 处理 Source，在 Invoke 中判断是否为 Source，是则添加 taint object
     public PointsToSet dealSource(Invoke callSite, JMethod jMethod) {
-        for (Source source : config.getSources()) {
-            // 比对调用方法和存储的 Source 是否有一样的，一样则产生 taint object，此时的 callSite 就是 Source
-            if (source.method().getSignature().equals(jMethod.getSignature())) {
-                // 创建 taint object，使用空上下文作为污点对象t(source, type)的堆上下文
-                return PointsToSetFactory.make(
-                        csManager.getCSObj(emptyContext, manager.makeTaint(callSite, jMethod.getReturnType())));
-            }
+        // 查找调用方法对应的 Source，存在则产生 taint object，此时的 callSite 就是 Source
+        if (!config.getSourcesOf(jMethod).isEmpty()) {
+            // 创建 taint object，使用空上下文作为污点对象t(source, type)的堆上下文
+            return PointsToSetFactory.make(
+                    csManager.getCSObj(emptyContext, manager.makeTaint(callSite, jMethod.getReturnType())));
         }
         return null;
     }
@@ -129,16 +134,17 @@ public class TaintAnalysiss {
     // 处理 Sink，在遇见 sink 点时添加 sink 到 sinkCallSites
     // 从而可以保存所有的 csCallSite，然后在 collectTaintFlows 中进行处理形成 taintFlows
     public void dealSinkCallSite(CSCallSite callSite, JMethod jMethod) {
-        config.getSinks().forEach(sink -> {
-            if (sink.method().getSignature().equals(jMethod.getSignature())) {
-                sinkCallSites.add(new SinkCallSite(callSite, sink));
-            }
-        });
+        config.getSinksOf(jMethod).forEach(sink ->
+                sinkCallSites.add(new SinkCallSite(callSite, sink)));
     }
 
     // 仿照 PFG 的 propagate 将 taint object 向后继节点进行传播
     // 这里就是判断当 delta 中包含污点对象时，应该基于 "污点传播边" 向后继节点传播污点对象
     public void propagate(Pointer pointer, PointsToSet delta) {
+        if (sparse) {
+            propagateSparsely(pointer, delta);
+            return;
+        }
         PointsToSet taint = PointsToSetFactory.make();
         // 获取 delta 中的 taint object
         delta.forEach(csObj -> {
@@ -153,6 +159,33 @@ public class TaintAnalysiss {
         });
     }
 
+    /**
+     * Propagates the taint objects in delta along TFG edges.
+     * Only a few pointers have TFG successors, so the other pointers
+     * are skipped without scanning delta, and the set of taint objects
+     * is allocated only if delta contains some.
+     */
+    private void propagateSparsely(Pointer pointer, PointsToSet delta) {
+        Set<Pointer> succs = taintFlowGraph.getSuccsOf(pointer);
+        if (succs.isEmpty()) {
+            return;
+        }
+        PointsToSet taint = null;
+        for (CSObj csObj : delta) {
+            if (manager.isTaint(csObj.getObject())) {
+                if (taint == null) {
+                    taint = PointsToSetFactory.make();
+                }
+                taint.addObject(csObj);
+            }
+        }
+        if (taint != null) {
+            for (Pointer succ : succs) {
+                solver.addWorkList(succ, taint);
+            }
+        }
+    }
+
     // 在 TFG 中添加边 "source -> target"，同时调用 workList.addEntry，添加 target 指向 pts(source)
     private void addTFGEdge(Pointer source, Pointer target, Type type) {
         // 检查污点传播的边是否存在。同时若是静态调用，则 source 和 target 其中一个为 null，直接进行下面的 if 判断返回
@@ -170,26 +203,24 @@ public class TaintAnalysiss {
 
     public void dealTaintTransfer(CSCallSite csCallSite, JMethod jMethod, CSVar csVar) {
         Context context = csCallSite.getContext();
-        config.getTransfers().forEach(taintTransfer -> {
-            if (taintTransfer.method().getSignature().equals(jMethod.getSignature())) {
-                // 这里 taintTransfer.from() 指的是相应 taint object 参数的下标，使用 index 替代
-                int index = taintTransfer.from();
-                if (index == TaintTransfer.BASE && taintTransfer.to() == TaintTransfer.RESULT) {
-                    // base-to-result，这里 csVar 是 recv，也就是 base变量
-                    Var lVar = csCallSite.getCallSite().getLValue();
-                    addTFGEdge(csVar, csManager.getCSVar(context, lVar), jMethod.getReturnType());
-                } else if (index >= 0 && taintTransfer.to() == TaintTransfer.BASE) {
-                    // Arg-to-base，根据 index 找到 args 中对应的 taint object
-                    List<Var> args = csCallSite.getCallSite().getInvokeExp().getArgs();
-                    CSVar arg = csManager.getCSVar(context, args.get(index));
-                    addTFGEdge(arg, csVar, jMethod.getReturnType());
-                } else if (index >= 0 && taintTransfer.to() == TaintTransfer.RESULT) {
-                    // Arg-to-result
-                    List<Var> args = csCallSite.getCallSite().getInvokeExp().getArgs();
-                    CSVar arg = csManager.getCSVar(context, args.get(index));
-                    Var lVar = csCallSite.getCallSite().getLValue();
-                    addTFGEdge(arg, csManager.getCSVar(context, lVar), jMethod.getReturnType());
-                }
+        config.getTransfersOf(jMethod).forEach(taintTransfer -> {
+            // 这里 taintTransfer.from() 指的是相应 taint object 参数的下标，使用 index 替代
+            int index = taintTransfer.from();
+            if (index == TaintTransfer.BASE && taintTransfer.to() == TaintTransfer.RESULT) {
+                // base-to-result，这里 csVar 是 recv，也就是 base变量
+                Var lVar = csCallSite.getCallSite().getLValue();
+                addTFGEdge(csVar, csManager.getCSVar(context, lVar), jMethod.getReturnType());
+            } else if (index >= 0 && taintTransfer.to() == TaintTransfer.BASE) {
+                // Arg-to-base，根据 index 找到 args 中对应的 taint object
+                List<Var> args = csCallSite.getCallSite().getInvokeExp().getArgs();
+                CSVar arg = csManager.getCSVar(context, args.get(index));
+                addTFGEdge(arg, csVar, jMethod.getReturnType());
+            } else if (index >= 0 && taintTransfer.to() == TaintTransfer.RESULT) {
+                // Arg-to-result
+                List<Var> args = csCallSite.getCallSite().getInvokeExp().getArgs();
+                CSVar arg = csManager.getCSVar(context, args.get(index));
+                Var lVar = csCallSite.getCallSite().getLValue();
+                addTFGEdge(arg, csManager.getCSVar(context, lVar), jMethod.getReturnType());
             }
         });
     }
@@ -38,6 +38,8 @@ import pascal.taie.language.classes.ClassHierarchy;
 import pascal.taie.language.classes.JMethod;
 import pascal.taie.language.type.Type;
 import pascal.taie.language.type.TypeSystem;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.MultiMap;
 import pascal.taie.util.collection.Sets;
 
 import java.io.File;
@@ -67,11 +69,31 @@ class TaintConfig {
      */
     private final Set<TaintTransfer> transfers;
 
+    /**
+     * Map from a method to the sources of the method.
+     */
+    private final MultiMap<JMethod, Source> method2Sources = Maps.newMultiMap();
+
+    /**
+     * Map from a method to the sinks of the method.
+     */
+    private final MultiMap<JMethod, Sink> method2Sinks = Maps.newMultiMap();
+
+    /**
+     * Map from a method to the taint transfers of the method.
+     */
+    private final MultiMap<JMethod, TaintTransfer> method2Transfers = Maps.newMultiMap();
+
     private TaintConfig(Set<Source> sources, Set<Sink> sinks,
                         Set<TaintTransfer> transfers) {
         this.sources = sources;
         this.sinks = sinks;
         this.transfers = transfers;
+        // index the rules by their methods, so that matching the rules
+        // of a callee takes one lookup instead of comparing signatures
+        sources.forEach(source -> method2Sources.put(source.method(), source));
+        sinks.forEach(sink -> method2Sinks.put(sink.method(), sink));
+        transfers.forEach(transfer -> method2Transfers.put(transfer.method(), transfer));
     }
 
     /**
@@ -119,6 +141,27 @@ class TaintConfig {
         return transfers;
     }
 
+    /**
+     * @return sources of given method.
+     */
+    Set<Source> getSourcesOf(JMethod method) {
+        return method2Sources.get(method);
+    }
+
+    /**
+     * @return sinks of given method.
+     */
+    Set<Sink> getSinksOf(JMethod method) {
+        return method2Sinks.get(method);
+    }
+
+    /**
+     * @return taint transfers of given method.
+     */
+    Set<TaintTransfer> getTransfersOf(JMethod method) {
+        return method2Transfers.get(method);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("TaintConfig:");
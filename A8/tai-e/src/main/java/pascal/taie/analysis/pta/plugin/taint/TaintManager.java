@@ -55,8 +55,10 @@ class TaintManager {
      * @return true if given obj represents a taint object, otherwise false.
      */
     boolean isTaint(Obj obj) {
+        // all taint objects are made by makeTaint() with TAINT_DESC,
+        // so comparing the reference of description is enough
         return obj instanceof MockObj &&
-                ((MockObj) obj).getDescription().equals(TAINT_DESC);
+                ((MockObj) obj).getDescription() == TAINT_DESC;
     }
 
     /**
@@ -0,0 +1,290 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.pts;
+
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Points-to set represented by a sparse bit vector over the dense
+ * indexes of {@link CSObj}s.
+ * <p>
+ * The bit vector only stores the non-zero 64-bit words, together with
+ * their positions (in ascending order), so that small points-to sets
+ * stay small, and unions of two sets can be done word by word.
+ */
+class BitVectorPointsToSet implements PointsToSet {
+
+    private static final int[] EMPTY_KEYS = {};
+
+    private static final long[] EMPTY_WORDS = {};
+
+    private final CSObjIndexer indexer;
+
+    /**
+     * Positions of the non-zero words, in ascending order.
+     */
+    private int[] keys = EMPTY_KEYS;
+
+    /**
+     * The non-zero words, words[i] is the word at position keys[i].
+     */
+    private long[] words = EMPTY_WORDS;
+
+    /**
+     * Number of non-zero words.
+     */
+    private int length;
+
+    /**
+     * Number of objects in this set.
+     */
+    private int size;
+
+    BitVectorPointsToSet(CSObjIndexer indexer) {
+        this.indexer = indexer;
+    }
+
+    @Override
+    public boolean addObject(CSObj obj) {
+        int index = indexer.getIndex(obj);
+        int key = index >>> 6;
+        long mask = 1L << index;
+        int i = Arrays.binarySearch(keys, 0, length, key);
+        if (i >= 0) {
+            if ((words[i] & mask) != 0) {
+                return false;
+            }
+            words[i] |= mask;
+        } else {
+            insertWord(-(i + 1), key, mask);
+        }
+        ++size;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(PointsToSet pts) {
+        if (pts instanceof BitVectorPointsToSet other
+                && other.indexer == indexer) {
+            return union(other, null);
+        }
+        boolean changed = false;
+        for (CSObj obj : pts) {
+            changed |= addObject(obj);
+        }
+        return changed;
+    }
+
+    @Override
+    public PointsToSet addAllDiff(PointsToSet pts) {
+        if (pts instanceof BitVectorPointsToSet other
+                && other.indexer == indexer) {
+            BitVectorPointsToSet diff = new BitVectorPointsToSet(indexer);
+            union(other, diff);
+            return diff;
+        }
+        return PointsToSet.super.addAllDiff(pts);
+    }
+
+    @Override
+    public boolean contains(CSObj obj) {
+        int index = obj.getIndex();
+        if (index == -1) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, 0, length, index >>> 6);
+        return i >= 0 && (words[i] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<CSObj> getObjects() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<CSObj> iterator() {
+                return BitVectorPointsToSet.this.iterator();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof CSObj obj &&
+                        BitVectorPointsToSet.this.contains(obj);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Stream<CSObj> objects() {
+        return getObjects().stream();
+    }
+
+    @Override
+    public Iterator<CSObj> iterator() {
+        return new Iterator<>() {
+
+            private int i = 0;
+
+            private long word = length > 0 ? words[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                while (word == 0) {
+                    if (++i >= length) {
+                        return false;
+                    }
+                    word = words[i];
+                }
+                return true;
+            }
+
+            @Override
+            public CSObj next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return indexer.getObject((keys[i] << 6) + bit);
+            }
+        };
+    }
+
+    /**
+     * Unions other bit vector into this one, word by word.
+     *
+     * @param diff if not null, the words of other that are absent in
+     *             this set are stored in it (which should be empty).
+     * @return true if this set changed as a result of the call,
+     * otherwise false.
+     */
+    private boolean union(BitVectorPointsToSet other,
+                          BitVectorPointsToSet diff) {
+        if (other == this || other.size == 0) {
+            return false;
+        }
+        // count words of other that are absent in this set
+        int absent = 0;
+        for (int i = 0, j = 0; j < other.length; ++j) {
+            while (i < length && keys[i] < other.keys[j]) {
+                ++i;
+            }
+            if (i == length || keys[i] != other.keys[j]) {
+                ++absent;
+            }
+        }
+        int[] newKeys = keys;
+        long[] newWords = words;
+        if (absent > 0 && length + absent > keys.length) {
+            int capacity = Math.max(length + absent, keys.length * 2);
+            newKeys = new int[capacity];
+            newWords = new long[capacity];
+        }
+        if (diff != null) {
+            diff.keys = new int[other.length];
+            diff.words = new long[other.length];
+        }
+        // merge from the tail, so that the words can be merged in place;
+        // diff words are also collected from the tail of diff arrays
+        int oldSize = size;
+        int d = other.length;
+        int i = length - 1, j = other.length - 1, k = length + absent - 1;
+        while (j >= 0) {
+            if (i >= 0 && keys[i] > other.keys[j]) {
+                newKeys[k] = keys[i];
+                newWords[k--] = words[i--];
+            } else if (i >= 0 && keys[i] == other.keys[j]) {
+                long added = other.words[j] & ~words[i];
+                if (added != 0) {
+                    size += Long.bitCount(added);
+                    if (diff != null) {
+                        diff.keys[--d] = keys[i];
+                        diff.words[d] = added;
+                    }
+                }
+                newKeys[k] = keys[i];
+                newWords[k--] = words[i--] | other.words[j--];
+            } else {
+                size += Long.bitCount(other.words[j]);
+                if (diff != null) {
+                    diff.keys[--d] = other.keys[j];
+                    diff.words[d] = other.words[j];
+                }
+                newKeys[k] = other.keys[j];
+                newWords[k--] = other.words[j--];
+            }
+        }
+        if (newKeys != keys) {
+            System.arraycopy(keys, 0, newKeys, 0, i + 1);
+            System.arraycopy(words, 0, newWords, 0, i + 1);
+            keys = newKeys;
+            words = newWords;
+        }
+        length += absent;
+        if (diff != null) {
+            diff.length = other.length - d;
+            System.arraycopy(diff.keys, d, diff.keys, 0, diff.length);
+            System.arraycopy(diff.words, d, diff.words, 0, diff.length);
+            diff.size = size - oldSize;
+        }
+        return size != oldSize;
+    }
+
+    private void insertWord(int pos, int key, long word) {
+        if (length == keys.length) {
+            int capacity = Math.max(4, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            words = Arrays.copyOf(words, capacity);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, length - pos);
+        System.arraycopy(words, pos, words, pos + 1, length - pos);
+        keys[pos] = key;
+        words[pos] = word;
+        ++length;
+    }
+
+    @Override
+    public String toString() {
+        return getObjects().toString();
+    }
+}
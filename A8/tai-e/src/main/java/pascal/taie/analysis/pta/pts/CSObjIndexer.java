@@ -0,0 +1,63 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.pts;
+
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assigns dense indexes to {@link CSObj}s, so that points-to sets
+ * can be represented by bit vectors.
+ * <p>
+ * This class is not thread-safe. The solver only adds objects to
+ * points-to sets on its own thread, and its parallel rounds only union
+ * bit vectors whose objects have been indexed, which reads the indexes
+ * without assigning new ones.
+ */
+class CSObjIndexer {
+
+    private final List<CSObj> objs = new ArrayList<>();
+
+    /**
+     * @return the index of given object. If the object has not been
+     * indexed, assigns the next free index to it.
+     */
+    int getIndex(CSObj obj) {
+        int index = obj.getIndex();
+        if (index == -1) {
+            index = objs.size();
+            obj.setIndex(index);
+            objs.add(obj);
+        }
+        return index;
+    }
+
+    /**
+     * @return the object of given index.
+     */
+    CSObj getObject(int index) {
+        return objs.get(index);
+    }
+}
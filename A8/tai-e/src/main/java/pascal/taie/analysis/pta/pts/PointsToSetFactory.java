@@ -23,9 +23,9 @@
 package pascal.taie.analysis.pta.pts;
 
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.config.ConfigException;
 import pascal.taie.util.collection.Sets;
 
-import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -33,10 +33,31 @@ import java.util.function.Supplier;
  */
 public class PointsToSetFactory {
 
-    private static final Supplier<Set<CSObj>> setFactory = Sets::newHybridSet;
+    private static Supplier<PointsToSet> setFactory =
+            PointsToSetFactory::makeHybridSet;
+
+    /**
+     * Selects the representation of the points-to sets made by this factory.
+     * This method should be called before the pointer analysis starts.
+     *
+     * @param kind "hybrid" (default) for hash-based sets, or "bit-vector"
+     *             for sparse bit vectors over dense indexes of {@link CSObj}.
+     *             A null kind is treated as "hybrid".
+     * @throws ConfigException if the kind is unknown
+     */
+    public static void setKind(String kind) {
+        if (kind == null || kind.equals("hybrid")) {
+            setFactory = PointsToSetFactory::makeHybridSet;
+        } else if (kind.equals("bit-vector")) {
+            CSObjIndexer indexer = new CSObjIndexer();
+            setFactory = () -> new BitVectorPointsToSet(indexer);
+        } else {
+            throw new ConfigException("Unexpected points-to set kind: " + kind);
+        }
+    }
 
     public static PointsToSet make() {
-        return new DelegatePointsToSet(setFactory.get());
+        return setFactory.get();
     }
 
     /**
@@ -47,4 +68,8 @@ public class PointsToSetFactory {
         set.addObject(obj);
         return set;
     }
+
+    private static PointsToSet makeHybridSet() {
+        return new DelegatePointsToSet(Sets.newHybridSet());
+    }
 }
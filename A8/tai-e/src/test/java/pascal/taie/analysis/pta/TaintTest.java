@@ -22,8 +22,43 @@
 
 package pascal.taie.analysis.pta;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
+import pascal.taie.World;
 import pascal.taie.analysis.Tests;
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.cs.context.TrieContext;
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.cs.element.CSVar;
+import pascal.taie.analysis.pta.core.cs.element.Pointer;
+import pascal.taie.analysis.pta.core.cs.selector.BudgetedContextSelector;
+import pascal.taie.analysis.pta.cs.CSPTA;
+import pascal.taie.analysis.pta.cs.PFGStatistics;
+import pascal.taie.analysis.pta.cs.SolverMetrics;
+import pascal.taie.analysis.pta.pts.PointsToSet;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.language.type.Type;
+import pascal.taie.language.type.TypeSystem;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class TaintTest {
 
@@ -70,4 +105,279 @@ public class TaintTest {
         Tests.testCSPTA(DIR, "TaintInList",
                 "cs:2-obj;taint-config:src/test/resources/pta/taint/taint-config.yml");
     }
+
+    @Test
+    public void testTaintInListBitVector() {
+        Map<String, Set<String>> expected = getPointsToSets(analyzeTaintInList(""));
+        PointerAnalysisResult result = analyzeTaintInList("points-to-set:bit-vector;");
+        // the bit vectors hold the same objects as the hash-based sets
+        assertEquals(expected, getPointsToSets(result));
+        result.getCSVars().forEach(csVar -> assertEquals("BitVectorPointsToSet",
+                csVar.getPointsToSet().getClass().getSimpleName()));
+    }
+
+    @Test
+    public void testTaintInListCollapseCycles() {
+        Map<String, Set<String>> expected = getPointsToSets(analyzeTaintInList(""));
+        PointerAnalysisResult result = analyzeTaintInList(
+                "collapse-cycles:true;metrics:true;");
+        assertEquals(expected, getPointsToSets(result));
+        // the array copy in StringList.ensureCapacity() forms a cycle,
+        // and the merged pointers share the points-to set of the cycle
+        SolverMetrics metrics = result.getResult(SolverMetrics.KEY);
+        assertTrue(metrics.getCollapsedPointers() > 0);
+        List<Pointer> pointers = Stream.<Collection<? extends Pointer>>of(
+                        result.getCSVars(), result.getStaticFields(),
+                        result.getInstanceFields(), result.getArrayIndexes())
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+        Set<PointsToSet> ptsSets = Collections.newSetFromMap(new IdentityHashMap<>());
+        pointers.forEach(p -> ptsSets.add(p.getPointsToSet()));
+        assertEquals(metrics.getCollapsedPointers(), pointers.size() - ptsSets.size());
+    }
+
+    @Test
+    public void testTaintInListParallel() {
+        PointerAnalysisResult expected = analyzeTaintInList("");
+        Map<String, Set<String>> expectedPts = getPointsToSets(expected);
+        Set<String> expectedEdges = getCallEdges(expected);
+        // threshold 0 makes every round run on the executor
+        PointerAnalysisResult result = analyzeTaintInList(
+                "threads:4;parallel-threshold:0;");
+        assertEquals(expectedPts, getPointsToSets(result));
+        assertEquals(expectedEdges, getCallEdges(result));
+    }
+
+    @Test
+    public void testTaintInListParallelBitVector() {
+        PointerAnalysisResult expected = analyzeTaintInList("");
+        Map<String, Set<String>> expectedPts = getPointsToSets(expected);
+        Set<String> expectedEdges = getCallEdges(expected);
+        PointerAnalysisResult result = analyzeTaintInList(
+                "threads:4;parallel-threshold:0;points-to-set:bit-vector;");
+        assertEquals(expectedPts, getPointsToSets(result));
+        assertEquals(expectedEdges, getCallEdges(result));
+    }
+
+    @Test
+    public void testArrayCovarianceTypeFilter() {
+        // s may load the Object stored via objs, which aliases strs
+        PointerAnalysisResult result = analyze("ArrayCovariance", "");
+        assertEquals(Set.of("java.lang.Object", "java.lang.String"),
+                getObjectTypes(result, "s"));
+        result = analyze("ArrayCovariance", "type-filter:true;");
+        assertEquals(Set.of("java.lang.String"), getObjectTypes(result, "s"));
+        TypeSystem typeSystem = World.get().getTypeSystem();
+        for (CSVar csVar : result.getCSVars()) {
+            Type type = csVar.getVar().getType();
+            csVar.getPointsToSet().forEach(csObj -> assertTrue(csVar.toString(),
+                    typeSystem.isSubtype(type, csObj.getObject().getType())));
+        }
+    }
+
+    @Test
+    public void testTaintInListInternContexts() {
+        PointerAnalysisResult expected = analyzeTaintInList("");
+        Map<String, Set<String>> expectedPts = getPointsToSets(expected);
+        Set<String> expectedEdges = getCallEdges(expected);
+        PointerAnalysisResult result = analyzeTaintInList("intern-contexts:true;");
+        assertEquals(expectedPts, getPointsToSets(result));
+        assertEquals(expectedEdges, getCallEdges(result));
+        // equal contexts are represented by the same object
+        Map<String, Context> contexts = new HashMap<>();
+        for (CSVar csVar : result.getCSVars()) {
+            Context context = csVar.getContext();
+            assertTrue(context instanceof TrieContext);
+            assertSame(context, contexts.computeIfAbsent(
+                    context.toString(), s -> context));
+        }
+    }
+
+    @Test
+    public void testTaintInListArrayCSManager() {
+        PointerAnalysisResult expected = analyzeTaintInList("");
+        Map<String, Set<String>> expectedPts = getPointsToSets(expected);
+        int expectedObjs = expected.getCSObjects().size();
+        // interned contexts of different factories may have equal indexes,
+        // which must not make the manager mix up their elements
+        for (String options : List.of("cs-manager:array;",
+                "cs-manager:array;intern-contexts:true;")) {
+            PointerAnalysisResult result = analyzeTaintInList(options);
+            assertEquals(expectedPts, getPointsToSets(result));
+            // each element is made once for each context
+            assertEquals(expectedPts.size(), result.getCSVars().size());
+            assertEquals(expectedObjs, result.getCSObjects().size());
+        }
+    }
+
+    @Test
+    public void testTaintInListCompactPFG() {
+        PointerAnalysisResult expected = analyzeTaintInList("collapse-cycles:true;");
+        Map<String, Set<String>> expectedPts = getPointsToSets(expected);
+        PFGStatistics expectedPFG = expected.getResult(PFGStatistics.KEY);
+        // collapsing cycles removes edges from the compact storage
+        PointerAnalysisResult result = analyzeTaintInList(
+                "compact-pfg:true;collapse-cycles:true;");
+        assertEquals(expectedPts, getPointsToSets(result));
+        PFGStatistics pfg = result.getResult(PFGStatistics.KEY);
+        assertEquals(expectedPFG.nodes(), pfg.nodes());
+        assertEquals(expectedPFG.edges(), pfg.edges());
+    }
+
+    @Test
+    public void testSparseTaint() {
+        // the test cases whose taint objects flow along transfer edges
+        Map<String, String> cases = Map.of(
+                "ArgToResult", "",
+                "BaseToResult", "",
+                "StringAppend", "",
+                "InterTaintTransfer", "cs:2-call;");
+        cases.forEach((main, options) -> {
+            Map<String, Set<String>> expected = getPointsToSets(analyze(main, options));
+            PointerAnalysisResult result = analyze(main, options + "sparse-taint:true;");
+            assertEquals(main, expected, getPointsToSets(result));
+        });
+    }
+
+    @Test
+    public void testTaintInListSelectiveContexts() {
+        long expected = analyzeTaintInList("")
+                .getCSCallGraph().reachableMethods().count();
+        PointerAnalysisResult result = analyzeTaintInList("selective-contexts:true;");
+        Map<String, Set<Context>> contexts = getMethodContexts(result);
+        // the methods on the flows of list elements keep their contexts
+        assertEquals(2, contexts.get("<StringList: void add(java.lang.String)>").size());
+        // and the others are analyzed context-insensitively
+        contexts.get("<java.lang.Object: void <init>()>").forEach(context ->
+                assertEquals(0, context.getLength()));
+        assertTrue(result.getCSCallGraph().reachableMethods().count() < expected);
+    }
+
+    @Test
+    public void testTaintInListContextBudget() {
+        // StringList.add() is called on two lists, so its second
+        // context exceeds the budget
+        PointerAnalysisResult result = analyzeTaintInList("context-budget:1;");
+        Map<JMethod, Integer> fallbacks = result.getResult(BudgetedContextSelector.KEY);
+        assertTrue(fallbacks.keySet().stream().anyMatch(m ->
+                m.getSignature().equals("<StringList: void add(java.lang.String)>")));
+        getMethodContexts(result).forEach((method, contexts) -> assertTrue(method,
+                contexts.stream().filter(c -> c.getLength() > 0).count() <= 1));
+    }
+
+    @Test
+    public void testContextBudgetFallbacks() {
+        PointerAnalysisResult result = analyze("ContextBudget",
+                "cs:1-obj;context-budget:1;");
+        Map<String, Integer> fallbacks = new TreeMap<>();
+        result.<Map<JMethod, Integer>>getResult(BudgetedContextSelector.KEY)
+                .forEach((m, n) -> fallbacks.put(m.getSignature(), n));
+        // the context of c2 falls back for Counter.inc() only once,
+        // although it is selected at two call sites
+        assertEquals(Map.of("<Counter: void <init>()>", 1,
+                "<Counter: void inc()>", 1,
+                "<java.lang.Object: void <init>()>", 1), fallbacks);
+    }
+
+    @Test
+    public void testTaintInListSnapshot() {
+        Tests.testCSPTA(DIR, "TaintInList",
+                "cs:2-obj;snapshot:output/TaintInList.pta;snapshot-check:true;" +
+                        "taint-config:src/test/resources/pta/taint/taint-config.yml");
+    }
+
+    @Test
+    public void testTaintInListLoadSnapshot() {
+        Tests.testCSPTA(DIR, "TaintInList",
+                "cs:2-obj;snapshot:output/TaintInList2.pta;" +
+                        "taint-config:src/test/resources/pta/taint/taint-config.yml");
+        // the loaded result is processed (and its taint flows are compared
+        // with the expected ones) in the same way as a solved result
+        Tests.testCSPTA(DIR, "TaintInList",
+                "cs:2-obj;load-snapshot:output/TaintInList2.pta;" +
+                        "taint-config:src/test/resources/pta/taint/taint-config.yml");
+        PointerAnalysisResult result = World.get().getResult(CSPTA.ID);
+        assertFalse(result.getCSVars().isEmpty());
+        assertFalse(result.getCSCallGraph().edges().toList().isEmpty());
+    }
+
+    @Test
+    public void testTaintInListMetrics() throws IOException {
+        PointerAnalysisResult result = analyzeTaintInList("metrics:true;");
+        SolverMetrics metrics = result.getResult(SolverMetrics.KEY);
+        assertTrue(metrics.getWorkListEntries() > 0);
+        assertTrue(metrics.getCallEdges() > 0);
+        JsonNode json = new ObjectMapper().readTree(metrics.toJson());
+        assertEquals(metrics.getWorkListEntries(), json.get("workListEntries").asLong());
+        assertEquals(metrics.getCallEdges(), json.get("callEdges").asLong());
+    }
+
+    /**
+     * Analyzes TaintInList with 2-object sensitivity and given options,
+     * and compares the taint flows with the expected ones.
+     */
+    private static PointerAnalysisResult analyzeTaintInList(String options) {
+        return analyze("TaintInList", "cs:2-obj;" + options);
+    }
+
+    /**
+     * Analyzes given test case with given options, and compares
+     * the taint flows with the expected ones.
+     */
+    private static PointerAnalysisResult analyze(String main, String options) {
+        Tests.testCSPTA(DIR, main, options +
+                "taint-config:src/test/resources/pta/taint/taint-config.yml");
+        return World.get().getResult(CSPTA.ID);
+    }
+
+    /**
+     * @return the points-to sets of all context-sensitive variables,
+     * as strings that do not depend on the representations of
+     * contexts and points-to sets.
+     */
+    private static Map<String, Set<String>> getPointsToSets(
+            PointerAnalysisResult result) {
+        Map<String, Set<String>> ptsMap = new TreeMap<>();
+        result.getCSVars().forEach(csVar -> ptsMap.put(csVar.toString(),
+                csVar.getPointsToSet().objects()
+                        .map(CSObj::toString)
+                        .collect(Collectors.toCollection(TreeSet::new))));
+        return ptsMap;
+    }
+
+    /**
+     * @return the types of the objects pointed to by the variables
+     * of given name in the main method.
+     */
+    private static Set<String> getObjectTypes(
+            PointerAnalysisResult result, String varName) {
+        return result.getCSVars()
+                .stream()
+                .filter(csVar -> csVar.getVar().getName().equals(varName)
+                        && csVar.getVar().getMethod().getName().equals("main"))
+                .flatMap(csVar -> csVar.getPointsToSet().objects())
+                .map(csObj -> csObj.getObject().getType().getName())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * @return the edges of the context-sensitive call graph, as strings.
+     */
+    private static Set<String> getCallEdges(PointerAnalysisResult result) {
+        return result.getCSCallGraph().edges()
+                .map(Object::toString)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * @return the contexts of each reachable method (by signature).
+     */
+    private static Map<String, Set<Context>> getMethodContexts(
+            PointerAnalysisResult result) {
+        Map<String, Set<Context>> contexts = new TreeMap<>();
+        result.getCSCallGraph().reachableMethods().forEach(csMethod ->
+                contexts.computeIfAbsent(csMethod.getMethod().getSignature(),
+                        m -> new HashSet<>()).add(csMethod.getContext()));
+        return contexts;
+    }
 }
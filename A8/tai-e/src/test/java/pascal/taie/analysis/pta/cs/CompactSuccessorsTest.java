@@ -0,0 +1,120 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import org.junit.Test;
+import pascal.taie.analysis.pta.core.cs.element.Pointer;
+import pascal.taie.analysis.pta.pts.PointsToSet;
+import pascal.taie.language.type.Type;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompactSuccessorsTest {
+
+    @Test
+    public void testPutAndRemove() {
+        List<Pointer> ps = makePointers(4);
+        CompactSuccessors succs = new CompactSuccessors();
+        assertTrue(succs.put(ps.get(0), ps.get(1)));
+        assertTrue(succs.put(ps.get(0), ps.get(2)));
+        assertFalse(succs.put(ps.get(0), ps.get(1)));
+        assertTrue(succs.remove(ps.get(0), ps.get(1)));
+        assertFalse(succs.remove(ps.get(0), ps.get(1)));
+        assertFalse(succs.remove(ps.get(3), ps.get(1)));
+        assertEquals(List.of(ps.get(2)), new ArrayList<>(succs.get(ps.get(0))));
+        assertEquals(1, succs.getNodeCount());
+        assertEquals(1, succs.getEdgeCount());
+    }
+
+    @Test
+    public void testViewAfterRemove() {
+        List<Pointer> ps = makePointers(4);
+        CompactSuccessors succs = new CompactSuccessors();
+        succs.put(ps.get(0), ps.get(1));
+        succs.put(ps.get(0), ps.get(2));
+        succs.put(ps.get(0), ps.get(3));
+        Collection<Pointer> view = succs.get(ps.get(0));
+        succs.remove(ps.get(0), ps.get(1));
+        succs.put(ps.get(0), ps.get(1));
+        assertEquals(ps.subList(1, 4), new ArrayList<>(view));
+        assertEquals(3, succs.get(ps.get(0)).size());
+    }
+
+    @Test
+    public void testLongSuccessorList() {
+        // long successor lists are indexed by a hash set
+        List<Pointer> ps = makePointers(40);
+        CompactSuccessors succs = new CompactSuccessors();
+        ps.subList(1, 40).forEach(p -> assertTrue(succs.put(ps.get(0), p)));
+        ps.subList(1, 40).forEach(p -> assertFalse(succs.put(ps.get(0), p)));
+        for (int i = 1; i < 40; i += 2) {
+            assertTrue(succs.remove(ps.get(0), ps.get(i)));
+        }
+        for (int i = 1; i < 40; ++i) {
+            assertEquals(i % 2 == 0, !succs.put(ps.get(0), ps.get(i)));
+        }
+        assertEquals(39, succs.getEdgeCount());
+    }
+
+    private static List<Pointer> makePointers(int n) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> (Pointer) new TestPointer())
+                .toList();
+    }
+
+    private static class TestPointer implements Pointer {
+
+        private int index = -1;
+
+        @Override
+        public PointsToSet getPointsToSet() {
+            return null;
+        }
+
+        @Override
+        public void setPointsToSet(PointsToSet pointsToSet) {
+        }
+
+        @Override
+        public Type getType() {
+            return null;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public void setIndex(int index) {
+            this.index = index;
+        }
+    }
+}
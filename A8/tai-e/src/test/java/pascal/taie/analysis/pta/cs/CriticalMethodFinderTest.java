@@ -0,0 +1,69 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import org.junit.Test;
+import pascal.taie.World;
+import pascal.taie.analysis.Tests;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CriticalMethodFinderTest {
+
+    @Test
+    public void testTaintInList() {
+        // the finder works on the result of context-insensitive pre-analysis
+        Tests.testCSPTA("taint", "TaintInList",
+                "cs:ci;taint-config:src/test/resources/pta/taint/taint-config.yml");
+        PointerAnalysisResult result = World.get().getResult(CSPTA.ID);
+        Set<String> reachable = result.getCallGraph()
+                .reachableMethods()
+                .map(JMethod::getSignature)
+                .collect(Collectors.toSet());
+        Set<String> critical = CriticalMethodFinder.find(result)
+                .stream()
+                .map(JMethod::getSignature)
+                .collect(Collectors.toSet());
+        // the list methods are called on two lists, and the strings
+        // added to a list flow into and out of its array
+        assertTrue(critical.contains("<StringList: void <init>()>"));
+        assertTrue(critical.contains("<StringList: void add(java.lang.String)>"));
+        assertTrue(critical.contains("<StringList: java.lang.String get(int)>"));
+        // methods called from a single call site on a single object,
+        // and methods that objects do not flow through, are excluded
+        for (String excluded : Set.of(
+                "<TaintInList: void main(java.lang.String[])>",
+                "<SourceSink: java.lang.String source()>",
+                "<java.lang.Object: void <init>()>",
+                "<java.lang.String: void <init>()>")) {
+            assertTrue(reachable.contains(excluded));
+            assertFalse(critical.contains(excluded));
+        }
+    }
+}
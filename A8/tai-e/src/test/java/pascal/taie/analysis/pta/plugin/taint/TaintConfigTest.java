@@ -0,0 +1,76 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2022 Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2022 Yue Li <yueli@nju.edu.cn>
+ *
+ * This file is part of Tai-e.
+ *
+ * Tai-e is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Tai-e is distributed in the hope that it will be useful,but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Tai-e. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package pascal.taie.analysis.pta.plugin.taint;
+
+import org.junit.Test;
+import pascal.taie.World;
+import pascal.taie.analysis.Tests;
+import pascal.taie.language.classes.ClassHierarchy;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TaintConfigTest {
+
+    @Test
+    public void testMethodIndexes() {
+        // builds the world which the config is resolved against
+        Tests.testCSPTA("taint", "SimpleTaint",
+                "taint-config:src/test/resources/pta/taint/taint-config.yml");
+        ClassHierarchy hierarchy = World.get().getClassHierarchy();
+        TaintConfig config = TaintConfig.readConfig(
+                "src/test/resources/pta/taint/taint-config.yml",
+                hierarchy, World.get().getTypeSystem());
+
+        JMethod source = hierarchy.getMethod(
+                "<SourceSink: java.lang.String source()>");
+        assertEquals(Set.of(new Source(source, source.getReturnType())),
+                config.getSourcesOf(source));
+        assertTrue(config.getSinksOf(source).isEmpty());
+
+        JMethod sourceAndSink = hierarchy.getMethod(
+                "<SourceSink: java.lang.String sourceAndSink(java.lang.String,java.lang.String)>");
+        assertEquals(1, config.getSourcesOf(sourceAndSink).size());
+        assertEquals(Set.of(new Sink(sourceAndSink, 0)),
+                config.getSinksOf(sourceAndSink));
+
+        JMethod concat = hierarchy.getMethod(
+                "<java.lang.String: java.lang.String concat(java.lang.String)>");
+        Set<TaintTransfer> transfers = config.getTransfersOf(concat);
+        assertEquals(2, transfers.size());
+        assertTrue(transfers.contains(new TaintTransfer(concat,
+                TaintTransfer.BASE, TaintTransfer.RESULT, concat.getReturnType())));
+        assertTrue(transfers.contains(new TaintTransfer(concat,
+                0, TaintTransfer.RESULT, concat.getReturnType())));
+
+        // methods out of the configuration have none of them
+        JMethod main = hierarchy.getMethod(
+                "<SimpleTaint: void main(java.lang.String[])>");
+        assertTrue(config.getSourcesOf(main).isEmpty());
+        assertTrue(config.getSinksOf(main).isEmpty());
+        assertTrue(config.getTransfersOf(main).isEmpty());
+    }
+}
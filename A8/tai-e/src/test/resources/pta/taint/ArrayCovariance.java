@@ -0,0 +1,11 @@
+class ArrayCovariance {
+
+    public static void main(String[] args) {
+        String[] strs = new String[1];
+        Object[] objs = strs;
+        objs[0] = new Object(); // fails at runtime
+        strs[0] = new String();
+        String s = strs[0];
+        SourceSink.sink(s); // no taint
+    }
+}
@@ -0,0 +1,19 @@
+class ContextBudget {
+
+    public static void main(String[] args) {
+        Counter c1 = new Counter();
+        Counter c2 = new Counter();
+        c1.inc();
+        c2.inc();
+        c2.inc(); // the same context as the previous call
+    }
+}
+
+class Counter {
+
+    private int count;
+
+    void inc() {
+        count++;
+    }
+}